@@ -3,6 +3,7 @@ plugins {
   jacoco
   checkstyle
   id("org.springframework.boot").version("2.2.0.RELEASE")
+  id("me.champeau.gradle.jmh").version("0.5.0")
 }
 
 repositories {
@@ -79,6 +80,13 @@ checkstyle {
   toolVersion = "8.32"
 }
 
+jmh {
+  jmhVersion = "1.23"
+  profilers = listOf("gc")
+  // Benchmarks to run, e.g. -PjmhInclude=BCryptStrengthBenchmark
+  include = listOfNotNull(findProperty("jmhInclude")?.toString())
+}
+
 tasks {
   test {
     useJUnitPlatform()
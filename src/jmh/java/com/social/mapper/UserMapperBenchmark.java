@@ -0,0 +1,127 @@
+package com.social.mapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.social.common.IdentifiedUserDetails;
+import com.social.common.PrincipalHolder;
+import com.social.config.SecurityConfig.Authority;
+import com.social.model.user.Publicity;
+import com.social.model.user.User;
+
+/**
+ * Maps a page of users of mixed publicity on behalf of an authenticated
+ * user, deciding visibility per mapped user as before {@link Viewer} and
+ * once per viewer. Scores are per user; run {@code ./gradlew jmh} with
+ * the gc profiler for allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+  private static final int PAGE_SIZE = 100;
+  private static final int[] PUBLICITIES =
+      {Publicity.PUBLIC, Publicity.INTERNAL, Publicity.PRIVATE};
+
+  private final List<User> page = new ArrayList<>(PAGE_SIZE);
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      page.add(new User()
+          .setId((long) i + 2)
+          .setEmail("user" + i + "@example.com")
+          .setUsername("user" + i)
+          .setFirstName("First")
+          .setLastName("Last")
+          .setPublicity(PUBLICITIES[i % PUBLICITIES.length]));
+    }
+
+    IdentifiedUserDetails principal =
+        new IdentifiedUserDetails(1L, "viewer", "password", Collections.emptySet());
+    SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(
+        principal, principal.getPassword(), new ArrayList<>(principal.getAuthorities())));
+  }
+
+  @TearDown
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAGE_SIZE)
+  public void decidePerUser(Blackhole blackhole) {
+    for (User user : page) {
+      blackhole.consume(isRegularPerUser(user));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAGE_SIZE)
+  public void decidePerViewer(Blackhole blackhole) {
+    for (User user : page) {
+      blackhole.consume(Viewer.current().seesRegular(user));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAGE_SIZE)
+  public void mapPage(Blackhole blackhole) {
+    for (User user : page) {
+      blackhole.consume(UserMapper.INSTANCE.toDto(user));
+    }
+  }
+
+  /**
+   * Decision of {@link UserMapper#toDto} before {@link Viewer}, debug
+   * logging left out.
+   */
+  private static boolean isRegularPerUser(User model) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    if (authentication == null) {
+      return model.isPublic();
+    }
+
+    SecurityExpressionRoot security = new SecurityExpressionRoot(authentication) {};
+    security.setTrustResolver(new AuthenticationTrustResolverImpl());
+
+    if (security.hasAnyAuthority(Authority.MODER, Authority.ADMIN)) {
+      return true;
+    }
+
+    IdentifiedUserDetails principal = PrincipalHolder.getPrincipal();
+
+    if (principal != null && principal.getId().equals(model.getId())) {
+      return true;
+    }
+
+    return model.isPublic() || model.isInternal() && security.isAuthenticated();
+  }
+
+}
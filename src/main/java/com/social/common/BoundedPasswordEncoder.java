@@ -0,0 +1,155 @@
+package com.social.common;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.social.exception.OverloadedException;
+
+/**
+ * Runs a CPU-heavy encoder (BCrypt) on a dedicated pool with a bounded
+ * queue, so bursts of signups and logins cannot occupy every request
+ * thread with hashing. When the queue is full the call fails fast with
+ * {@link OverloadedException} (503) instead of piling up.
+ */
+@ManagedResource(objectName = "com.social:type=PasswordEncoder")
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder queueWaitNanos = new LongAdder();
+  private final LongAdder hashNanos = new LongAdder();
+  private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+  private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setNameFormat("password-encoder-%d")
+        .setDaemon(true)
+        .build();
+    this.delegate = delegate;
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return call(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return call(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+
+  @ManagedAttribute(description = "Completed encode and match calls")
+  public long getCompleted() {
+    return completed.sum();
+  }
+
+  @ManagedAttribute(description = "Calls rejected because queue was full")
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  @ManagedAttribute(description = "Calls waiting in queue")
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  @ManagedAttribute(description = "Threads busy hashing")
+  public int getActiveThreads() {
+    return executor.getActiveCount();
+  }
+
+  @ManagedAttribute(description = "Total time spent in queue, ms")
+  public long getQueueWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.sum());
+  }
+
+  @ManagedAttribute(description = "Longest time spent in queue, ms")
+  public long getMaxQueueWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get());
+  }
+
+  @ManagedAttribute(description = "Total time spent hashing, ms")
+  public long getHashMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(hashNanos.sum());
+  }
+
+  @ManagedAttribute(description = "Longest single hash, ms")
+  public long getMaxHashMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxHashNanos.get());
+  }
+
+  private <T> T call(Callable<T> task) {
+    long submitted = System.nanoTime();
+    Future<T> future;
+
+    try {
+      future = executor.submit(() -> timed(task, submitted));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new OverloadedException("overloaded.passwordEncoder", e);
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password encoder", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private <T> T timed(Callable<T> task, long submitted) throws Exception {
+    long started = System.nanoTime();
+    record(queueWaitNanos, maxQueueWaitNanos, started - submitted);
+
+    try {
+      return task.call();
+    } finally {
+      record(hashNanos, maxHashNanos, System.nanoTime() - started);
+      completed.increment();
+    }
+  }
+
+  private static void record(LongAdder total, LongAccumulator max, long nanos) {
+    total.add(nanos);
+    max.accumulate(nanos);
+  }
+
+}
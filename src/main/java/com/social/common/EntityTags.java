@@ -0,0 +1,108 @@
+package com.social.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.common.base.Joiner;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.social.model.chat.Chat;
+import com.social.model.post.Post;
+import com.social.model.user.User;
+
+/**
+ * Strong ETags of single entity responses. A response depends on the
+ * entity version and, through visibility rules of user mapping, on who is
+ * asking, so the tag covers both.
+ *
+ * <p>Handlers check the version from a cheap lookup first and only load
+ * and map the entity when it is modified. The tag sent with the body is
+ * then taken from the loaded entity, since it may come from a cache that
+ * is behind the lookup.
+ */
+public final class EntityTags {
+
+  private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate()
+      .getHeaderValue();
+  private static final Joiner VERSION_JOINER = Joiner.on('.');
+
+  private EntityTags() {
+  }
+
+  /**
+   * Joins version parts in the format repositories look them up in.
+   */
+  public static String version(Object... parts) {
+    return VERSION_JOINER.join(parts);
+  }
+
+  public static String versionOf(User model) {
+    return version(model.getVersion());
+  }
+
+  public static String versionOf(Post model) {
+    return version(model.getVersion(), model.getCommentCount(), model.getAuthor().getVersion());
+  }
+
+  public static String versionOf(Chat model) {
+    long memberVersions = model.getMembers().stream()
+        .mapToLong(User::getVersion)
+        .sum();
+    return version(model.getVersion(), model.getMembers().size(), memberVersions);
+  }
+
+  /**
+   * Tags the response and tells whether the client already holds the
+   * representation of {@code version}, in which case the status is set to
+   * 304 and the handler returns {@code null}.
+   */
+  public static boolean checkNotModified(ServletWebRequest request, String version) {
+    HttpServletResponse response = request.getResponse();
+
+    if (response != null) {
+      response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    }
+
+    return request.checkNotModified(of(version));
+  }
+
+  /**
+   * Replaces the tag set by {@link #checkNotModified} with the version that
+   * was actually rendered.
+   */
+  public static void tag(ServletWebRequest request, String version) {
+    HttpServletResponse response = request.getResponse();
+
+    if (response != null) {
+      response.setHeader(HttpHeaders.ETAG, of(version));
+    }
+  }
+
+  private static String of(String version) {
+    StringBuilder tag = new StringBuilder(String.valueOf(version));
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    if (authentication != null) {
+      IdentifiedUserDetails principal = PrincipalHolder.getPrincipal();
+      tag.append('|').append(principal != null ? principal.getId() : null);
+
+      Set<String> authorities = new TreeSet<>();
+      for (GrantedAuthority authority : authentication.getAuthorities()) {
+        authorities.add(authority.getAuthority());
+      }
+      authorities.forEach(authority -> tag.append('|').append(authority));
+    }
+
+    byte[] bytes = tag.toString().getBytes(StandardCharsets.UTF_8);
+    return "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+  }
+
+}
@@ -0,0 +1,216 @@
+package com.social.common;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate second-level cache regions on Guava caches. Each region is
+ * bounded by {@code social.cache.region.<name>.size} and {@code .ttl} (ms),
+ * falling back to {@code social.cache.region.default}. The TTL also bounds
+ * how long another node's changes stay invisible.
+ *
+ * <p>The update timestamps region is never evicted by size or age, because
+ * a lost timestamp would let stale query results through.
+ */
+@Component
+@ManagedResource(objectName = "com.social:type=SecondLevelCache")
+public class GuavaRegionFactory extends RegionFactoryTemplate {
+
+  private static final String PROPERTY_PREFIX = "social.cache.region.";
+  private static final long DEFAULT_SIZE = 10_000;
+  private static final long DEFAULT_TTL = 600_000;
+  private static final int TIMESTAMP_SHIFT = 12;
+  private static final long LOCK_TIMEOUT = TimeUnit.MINUTES.toMillis(1) << TIMESTAMP_SHIFT;
+
+  private final Environment env;
+  private final ConcurrentMap<String, Cache<Object, Object>> regions = new ConcurrentHashMap<>();
+  private final AtomicLong lastTimestamp = new AtomicLong();
+
+  @Autowired
+  public GuavaRegionFactory(Environment env) {
+    this.env = env;
+  }
+
+  /**
+   * Strictly increasing, with room for 4096 values per millisecond: a read
+   * only trusts entries put before its transaction started, so a
+   * transaction starting in the same millisecond as an update must still
+   * get a later timestamp.
+   */
+  @Override
+  public long nextTimestamp() {
+    long now = System.currentTimeMillis() << TIMESTAMP_SHIFT;
+    return lastTimestamp.updateAndGet(last -> Math.max(last + 1, now));
+  }
+
+  @Override
+  public long getTimeout() {
+    return LOCK_TIMEOUT;
+  }
+
+  @ManagedAttribute(description = "Lookups answered from cache")
+  public long getHits() {
+    return stats().hitCount();
+  }
+
+  @ManagedAttribute(description = "Lookups that went to database")
+  public long getMisses() {
+    return stats().missCount();
+  }
+
+  @ManagedAttribute(description = "Entries evicted by size or TTL")
+  public long getEvictions() {
+    return stats().evictionCount();
+  }
+
+  @ManagedAttribute(description = "Size, hits, misses and evictions per region")
+  public Map<String, String> getRegions() {
+    Map<String, String> summary = new TreeMap<>();
+    regions.forEach((name, cache) -> {
+      CacheStats stats = cache.stats();
+      summary.put(name, String.format("size=%d, hits=%d, misses=%d, evictions=%d",
+          cache.size(), stats.hitCount(), stats.missCount(), stats.evictionCount()));
+    });
+    return summary;
+  }
+
+  @Override
+  protected DomainDataStorageAccess createDomainDataStorageAccess(
+      DomainDataRegionConfig regionConfig,
+      DomainDataRegionBuildingContext buildingContext) {
+    return register(regionConfig.getRegionName(), bounded(regionConfig.getRegionName()));
+  }
+
+  @Override
+  protected StorageAccess createQueryResultsRegionStorageAccess(
+      String regionName,
+      SessionFactoryImplementor sessionFactory) {
+    return register(regionName, bounded(regionName));
+  }
+
+  @Override
+  protected StorageAccess createTimestampsRegionStorageAccess(
+      String regionName,
+      SessionFactoryImplementor sessionFactory) {
+    return register(regionName, CacheBuilder.newBuilder().recordStats().build());
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+    // Regions are configured from Spring environment
+  }
+
+  @Override
+  protected void releaseFromUse() {
+    regions.values().forEach(Cache::invalidateAll);
+    regions.clear();
+  }
+
+  private Cache<Object, Object> bounded(String name) {
+    long size = env.getProperty(PROPERTY_PREFIX + name + ".size", Long.class, defaultSize());
+    long ttl = env.getProperty(PROPERTY_PREFIX + name + ".ttl", Long.class, defaultTtl());
+    return CacheBuilder.newBuilder()
+        .maximumSize(size)
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+  }
+
+  private long defaultSize() {
+    return env.getProperty(PROPERTY_PREFIX + "default.size", Long.class, DEFAULT_SIZE);
+  }
+
+  private long defaultTtl() {
+    return env.getProperty(PROPERTY_PREFIX + "default.ttl", Long.class, DEFAULT_TTL);
+  }
+
+  private DomainDataStorageAccess register(String name, Cache<Object, Object> cache) {
+    regions.put(name, cache);
+    return new GuavaStorageAccess(cache);
+  }
+
+  private CacheStats stats() {
+    return regions.values().stream()
+        .map(Cache::stats)
+        .reduce(new CacheStats(0, 0, 0, 0, 0, 0), CacheStats::plus);
+  }
+
+
+  private static final class GuavaStorageAccess implements DomainDataStorageAccess {
+
+    private final Cache<Object, Object> cache;
+
+    private GuavaStorageAccess(Cache<Object, Object> cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+      return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+      if (value == null) {
+        cache.invalidate(key);
+        return;
+      }
+      cache.put(key, value);
+    }
+
+    @Override
+    public boolean contains(Object key) {
+      // Through map view, so existence checks do not count as hits or misses
+      return cache.asMap().containsKey(key);
+    }
+
+    @Override
+    public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+      cache.invalidate(key);
+    }
+
+    @Override
+    public void clearCache(SharedSessionContractImplementor session) {
+      cache.invalidateAll();
+    }
+
+    @Override
+    public void evictData() {
+      cache.invalidateAll();
+    }
+
+    @Override
+    public void evictData(Object key) {
+      cache.invalidate(key);
+    }
+
+    @Override
+    public void release() {
+      cache.invalidateAll();
+    }
+
+  }
+
+}
@@ -0,0 +1,227 @@
+package com.social.common;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.export.naming.SelfNaming;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Measures how long callers wait for a pooled connection and how long they
+ * hold it until close, per endpoint. The endpoint is the handler's mapping
+ * pattern, e.g. {@code GET /posts/{id}}; connections taken before handler
+ * mapping (security filters) count as {@code (unmapped)}, those taken off
+ * request threads (jobs) as {@code (background)}.
+ */
+@ManagedResource
+public class MeteredDataSource extends DelegatingDataSource implements SelfNaming {
+
+  private static final String BACKGROUND = "(background)";
+  private static final String UNMAPPED = "(unmapped)";
+
+  private final String name;
+  private final Stats total = new Stats();
+  private final ConcurrentMap<String, Stats> endpoints = new ConcurrentHashMap<>();
+
+  public MeteredDataSource(DataSource target, String name) {
+    super(target);
+    this.name = name;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    long requested = System.nanoTime();
+    return metered(super.getConnection(), requested);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    long requested = System.nanoTime();
+    return metered(super.getConnection(username, password), requested);
+  }
+
+  @Override
+  public ObjectName getObjectName() throws MalformedObjectNameException {
+    return ObjectName.getInstance("com.social:type=ConnectionMetrics,name=" + name);
+  }
+
+  @ManagedAttribute(description = "Connections handed out")
+  public long getConnections() {
+    return total.connections.sum();
+  }
+
+  @ManagedAttribute(description = "Total time spent waiting for pool, ms")
+  public long getWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(total.waitNanos.sum());
+  }
+
+  @ManagedAttribute(description = "Longest wait for pool, ms")
+  public long getMaxWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(total.maxWaitNanos.get());
+  }
+
+  @ManagedAttribute(description = "Total time connections were held, ms")
+  public long getHoldMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(total.holdNanos.sum());
+  }
+
+  @ManagedAttribute(description = "Longest time a connection was held, ms")
+  public long getMaxHoldMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(total.maxHoldNanos.get());
+  }
+
+  @ManagedAttribute(description = "Connections in use")
+  public int getActiveConnections() {
+    HikariPoolMXBean pool = pool();
+    return pool != null ? pool.getActiveConnections() : -1;
+  }
+
+  @ManagedAttribute(description = "Threads waiting for a connection")
+  public int getPendingThreads() {
+    HikariPoolMXBean pool = pool();
+    return pool != null ? pool.getThreadsAwaitingConnection() : -1;
+  }
+
+  @ManagedAttribute(description = "Connections, wait and hold times per endpoint")
+  public Map<String, String> getEndpoints() {
+    Map<String, String> summary = new TreeMap<>();
+    endpoints.forEach((endpoint, stats) -> summary.put(endpoint, stats.toString()));
+    return summary;
+  }
+
+  private Connection metered(Connection target, long requested) {
+    long acquired = System.nanoTime();
+    Stats stats = endpoints.computeIfAbsent(currentEndpoint(), endpoint -> new Stats());
+    total.acquired(acquired - requested);
+    stats.acquired(acquired - requested);
+
+    return (Connection) Proxy.newProxyInstance(
+        ConnectionProxy.class.getClassLoader(),
+        new Class<?>[]{ConnectionProxy.class},
+        new MeteredConnection(target, acquired, stats));
+  }
+
+  private HikariPoolMXBean pool() {
+    DataSource target = getTargetDataSource();
+    return target instanceof HikariDataSource
+        ? ((HikariDataSource) target).getHikariPoolMXBean()
+        : null;
+  }
+
+  private static String currentEndpoint() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+    if (!(attributes instanceof ServletRequestAttributes)) {
+      return BACKGROUND;
+    }
+
+    Object pattern = attributes.getAttribute(
+        HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    String method = ((ServletRequestAttributes) attributes).getRequest().getMethod();
+    return method + " " + (pattern != null ? pattern : UNMAPPED);
+  }
+
+
+  private static final class Stats {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder holdNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxHoldNanos = new LongAccumulator(Math::max, 0);
+
+    private void acquired(long nanos) {
+      connections.increment();
+      waitNanos.add(nanos);
+      maxWaitNanos.accumulate(nanos);
+    }
+
+    private void released(long nanos) {
+      holdNanos.add(nanos);
+      maxHoldNanos.accumulate(nanos);
+    }
+
+    @Override
+    public String toString() {
+      long count = Math.max(connections.sum(), 1);
+      return String.format(
+          "connections=%d, avgWaitMs=%.2f, maxWaitMs=%d, avgHoldMs=%.2f, maxHoldMs=%d",
+          connections.sum(),
+          waitNanos.sum() / NANOS_PER_MILLI / count,
+          TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+          holdNanos.sum() / NANOS_PER_MILLI / count,
+          TimeUnit.NANOSECONDS.toMillis(maxHoldNanos.get()));
+    }
+
+  }
+
+
+  private final class MeteredConnection implements InvocationHandler {
+
+    private final Connection target;
+    private final long acquired;
+    private final Stats stats;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private MeteredConnection(Connection target, long acquired, Stats stats) {
+      this.target = target;
+      this.acquired = acquired;
+      this.stats = stats;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "getTargetConnection":
+          return target;
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "close":
+          if (closed.compareAndSet(false, true)) {
+            long held = System.nanoTime() - acquired;
+            total.released(held);
+            stats.released(held);
+          }
+          break;
+        default:
+          break;
+      }
+
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+
+  }
+
+}
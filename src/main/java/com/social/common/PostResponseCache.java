@@ -0,0 +1,272 @@
+package com.social.common;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.social.event.PostChangedEvent;
+import com.social.event.UserChangedEvent;
+
+/**
+ * Serves {@code GET /posts} and {@code GET /posts/{id}} to anonymous users
+ * from serialized responses. Only the first {@code pages} pages requested
+ * with nothing but {@code page}, {@code size} and {@code sort} are kept.
+ *
+ * <p>Entries are dropped once a {@link PostChangedEvent} or
+ * {@link UserChangedEvent} commits; the TTL bounds staleness from changes
+ * made on other nodes, by the comment count job or seen through a lagging
+ * replica. Responses carry an ETag and a public {@code Cache-Control}, so
+ * proxies in front can keep them too and revalidate for a 304.
+ */
+@ManagedResource(objectName = "com.social:type=PostResponseCache")
+public class PostResponseCache extends OncePerRequestFilter {
+
+  private static final String FEED_PATH = "/posts";
+  private static final Pattern POST_PATH = Pattern.compile("/posts/(\\d{1,18})");
+  private static final Pattern PAGE_NUMBER = Pattern.compile("\\d{1,9}");
+  private static final Set<String> PAGE_PARAMETERS = ImmutableSet.of("page", "size", "sort");
+  private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+  private final Cache<String, CachedResponse> pages;
+  private final Cache<Long, CachedResponse> posts;
+  private final int maxPages;
+  private final String cacheControl;
+  private final AtomicLong generation = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder notModified = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  public PostResponseCache(int maxPages, long size, long ttl, long maxAge) {
+    this.pages = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .maximumSize(size)
+        .build();
+    this.posts = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .maximumSize(size)
+        .build();
+    this.maxPages = maxPages;
+    this.cacheControl = "public, max-age=" + maxAge;
+  }
+
+  @ManagedAttribute(description = "Requests answered from cache")
+  public long getHits() {
+    return hits.sum();
+  }
+
+  @ManagedAttribute(description = "Cacheable requests passed to controller")
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  @ManagedAttribute(description = "Requests answered with 304 Not Modified")
+  public long getNotModified() {
+    return notModified.sum();
+  }
+
+  @ManagedAttribute(description = "Invalidations by post and user changes")
+  public long getInvalidations() {
+    return invalidations.sum();
+  }
+
+  @ManagedAttribute(description = "Cached feed pages")
+  public long getPageCount() {
+    return pages.size();
+  }
+
+  @ManagedAttribute(description = "Cached posts")
+  public long getPostCount() {
+    return posts.size();
+  }
+
+  /**
+   * Drops the post and every feed page, as any of them may show it.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPostChanged(PostChangedEvent event) {
+    generation.incrementAndGet();
+    posts.invalidate(event.getPostId());
+    pages.invalidateAll();
+    invalidations.increment();
+  }
+
+  /**
+   * Drops everything, as user data is embedded in posts of any page.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    generation.incrementAndGet();
+    posts.invalidateAll();
+    pages.invalidateAll();
+    invalidations.increment();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.GET.matches(request.getMethod()) || PrincipalHolder.getPrincipal() != null;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+    String path = URL_PATH_HELPER.getPathWithinApplication(request);
+
+    if (FEED_PATH.equals(path)) {
+      String key = pageKey(request);
+
+      if (key != null) {
+        serve(request, response, filterChain, pages, key);
+        return;
+      }
+    }
+
+    Matcher matcher = POST_PATH.matcher(path);
+
+    if (matcher.matches() && request.getParameterMap().isEmpty()) {
+      serve(request, response, filterChain, posts, Long.valueOf(matcher.group(1)));
+      return;
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  private <K> void serve(HttpServletRequest request,
+                         HttpServletResponse response,
+                         FilterChain filterChain,
+                         Cache<K, CachedResponse> cache,
+                         K key) throws ServletException, IOException {
+    CachedResponse cached = cache.getIfPresent(key);
+
+    if (cached != null) {
+      hits.increment();
+      write(request, response, cached);
+      return;
+    }
+
+    misses.increment();
+    long fillGeneration = generation.get();
+    ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    filterChain.doFilter(request, wrapper);
+
+    if (wrapper.getStatus() != HttpServletResponse.SC_OK) {
+      wrapper.copyBodyToResponse();
+      return;
+    }
+
+    cached = new CachedResponse(wrapper.getContentAsByteArray(), wrapper.getContentType());
+
+    // A change committed while rendering may not be reflected in it
+    if (fillGeneration == generation.get()) {
+      cache.put(key, cached);
+
+      if (fillGeneration != generation.get()) {
+        cache.invalidate(key);
+      }
+    }
+
+    wrapper.resetBuffer();
+    write(request, wrapper, cached);
+    wrapper.copyBodyToResponse();
+  }
+
+  private void write(HttpServletRequest request,
+                     HttpServletResponse response,
+                     CachedResponse cached) throws IOException {
+    response.setHeader(HttpHeaders.ETAG, cached.etag);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+    response.setHeader(HttpHeaders.VARY, "Cookie, Authorization");
+
+    if (matches(request, cached.etag)) {
+      notModified.increment();
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    response.setContentType(cached.contentType);
+    response.setContentLength(cached.body.length);
+    response.getOutputStream().write(cached.body);
+  }
+
+  /**
+   * Normalizes page parameters, or returns {@code null} when the request
+   * is not for one of the first pages of the default feed.
+   */
+  private String pageKey(HttpServletRequest request) {
+    if (!PAGE_PARAMETERS.containsAll(request.getParameterMap().keySet())) {
+      return null;
+    }
+
+    String page = request.getParameter("page");
+
+    if (page != null && !PAGE_NUMBER.matcher(page).matches()) {
+      return null;
+    }
+
+    int pageNumber = page != null ? Integer.parseInt(page) : 0;
+
+    if (pageNumber >= maxPages) {
+      return null;
+    }
+
+    String[] sort = request.getParameterValues("sort");
+    return pageNumber + "|" + request.getParameter("size") + "|" + Arrays.toString(sort);
+  }
+
+  private static boolean matches(HttpServletRequest request, String etag) {
+    for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+      for (String candidate : header.split(",")) {
+        String tag = candidate.trim();
+
+        if (tag.startsWith("W/")) {
+          tag = tag.substring(2);
+        }
+
+        if ("*".equals(tag) || etag.equals(tag)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+
+  private static final class CachedResponse {
+
+    private final byte[] body;
+    private final String contentType;
+    private final String etag;
+
+    private CachedResponse(byte[] body, String contentType) {
+      this.body = body;
+      this.contentType = contentType;
+      this.etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+  }
+
+}
@@ -0,0 +1,121 @@
+package com.social.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.social.model.user.User;
+import com.social.util.TransactionUtils;
+
+/**
+ * Resolves the user behind the authenticated principal. Within a request the
+ * entity is resolved once; across requests an immutable snapshot of its
+ * columns is kept for a short TTL, so changes made by other nodes become
+ * visible within it.
+ *
+ * <p>Each request gets a detached entity of its own, built from the snapshot
+ * when there is one, so no instance is shared between requests. Built ones
+ * carry no password and no associations; either way the entity is only
+ * meant to be read and passed as a reference, and writes load a managed
+ * instance instead.
+ */
+@Component
+public class PrincipalCache {
+
+  private static final String REQUEST_ATTRIBUTE = PrincipalCache.class.getName() + ".user";
+
+  private final Cache<Long, Snapshot> cache;
+
+  @Autowired
+  public PrincipalCache(@Value("${social.cache.principal.ttl:10000}") long ttl,
+                        @Value("${social.cache.principal.size:10000}") long size) {
+    this.cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .maximumSize(size)
+        .build();
+  }
+
+  public User get(Long id, Function<Long, User> loader) {
+    RequestAttributes request = RequestContextHolder.getRequestAttributes();
+    User user = request != null ? fromRequest(request, id) : null;
+
+    if (user == null) {
+      Snapshot snapshot = cache.getIfPresent(id);
+      user = snapshot != null ? snapshot.toUser() : null;
+    }
+
+    if (user == null) {
+      user = loader.apply(id);
+      cache.put(id, new Snapshot(user));
+    }
+
+    if (request != null) {
+      request.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    return user;
+  }
+
+  /**
+   * Evicts the user once the current transaction commits, so the previous
+   * state cannot be loaded back by a concurrent request in between.
+   */
+  public void invalidate(Long id) {
+    cache.invalidate(id);
+    TransactionUtils.afterCommit(() -> cache.invalidate(id));
+  }
+
+  private static User fromRequest(RequestAttributes request, Long id) {
+    Object user = request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    return user instanceof User && id.equals(((User) user).getId()) ? (User) user : null;
+  }
+
+
+  private static final class Snapshot {
+
+    private final Long id;
+    private final long version;
+    private final String email;
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+    private final int publicity;
+    private final boolean moder;
+    private final boolean admin;
+
+    private Snapshot(User user) {
+      this.id = user.getId();
+      this.version = user.getVersion();
+      this.email = user.getEmail();
+      this.username = user.getUsername();
+      this.firstName = user.getFirstName();
+      this.lastName = user.getLastName();
+      this.publicity = user.getPublicity();
+      this.moder = user.isModer();
+      this.admin = user.isAdmin();
+    }
+
+    private User toUser() {
+      User user = new User();
+      user.setId(id);
+      user.setVersion(version);
+      user.setEmail(email);
+      user.setUsername(username);
+      user.setFirstName(firstName);
+      user.setLastName(lastName);
+      user.setPublicity(publicity);
+      user.setModer(moder);
+      user.setAdmin(admin);
+      return user;
+    }
+
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.social.common;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.social.util.TransactionUtils;
+
+/**
+ * Users who committed a write within the read-your-writes window. Their
+ * reads go to the primary, so they never miss their own changes while a
+ * replica lags behind.
+ */
+@Component
+public class RecentWriters {
+
+  private final Cache<Long, Boolean> writers;
+
+  @Autowired
+  public RecentWriters(@Value("${social.datasource.read-your-writes.window:5000}") long window,
+                       @Value("${social.datasource.read-your-writes.size:100000}") long size) {
+    this.writers = CacheBuilder.newBuilder()
+        .expireAfterWrite(window, TimeUnit.MILLISECONDS)
+        .maximumSize(size)
+        .build();
+  }
+
+  /**
+   * Starts the window of {@code userId} once the current transaction
+   * commits.
+   */
+  public void markAfterCommit(Long userId) {
+    if (userId != null) {
+      TransactionUtils.afterCommit(() -> writers.put(userId, Boolean.TRUE));
+    }
+  }
+
+  public boolean contains(Long userId) {
+    return userId != null && writers.getIfPresent(userId) != null;
+  }
+
+}
@@ -0,0 +1,86 @@
+package com.social.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary. Users inside their {@link RecentWriters read-your-writes window}
+ * read from the primary too.
+ *
+ * <p>Transaction managers take the connection before the read-only flag
+ * is exposed, so this data source must sit behind a
+ * {@link LazyConnectionDataSourceProxy} that defers the lookup to the
+ * first statement.
+ */
+@ManagedResource(objectName = "com.social:type=ReplicaRouting")
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  private final RecentWriters recentWriters;
+  private final LongAdder replicaReads = new LongAdder();
+  private final LongAdder primaryReads = new LongAdder();
+  private final LongAdder primaryWrites = new LongAdder();
+
+  public ReplicaRoutingDataSource(DataSource primary,
+                                  DataSource replica,
+                                  RecentWriters recentWriters) {
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(Target.PRIMARY, primary);
+    targets.put(Target.REPLICA, replica);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    this.recentWriters = recentWriters;
+  }
+
+  @ManagedAttribute(description = "Read-only transactions sent to replica")
+  public long getReplicaReads() {
+    return replicaReads.sum();
+  }
+
+  @ManagedAttribute(description = "Read-only transactions kept on primary to read own writes")
+  public long getPrimaryReads() {
+    return primaryReads.sum();
+  }
+
+  @ManagedAttribute(description = "Read-write transactions and non-transactional connections")
+  public long getPrimaryWrites() {
+    return primaryWrites.sum();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    IdentifiedUserDetails principal = PrincipalHolder.getPrincipal();
+    Long userId = principal != null ? principal.getId() : null;
+
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      primaryWrites.increment();
+      if (TransactionSynchronizationManager.isActualTransactionActive()) {
+        recentWriters.markAfterCommit(userId);
+      }
+      return Target.PRIMARY;
+    }
+
+    if (recentWriters.contains(userId)) {
+      primaryReads.increment();
+      return Target.PRIMARY;
+    }
+
+    replicaReads.increment();
+    return Target.REPLICA;
+  }
+
+
+  private enum Target {
+    PRIMARY,
+    REPLICA
+  }
+
+}
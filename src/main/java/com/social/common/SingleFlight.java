@@ -0,0 +1,164 @@
+package com.social.common;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Lets concurrent identical reads share one in-flight load. The first
+ * caller of a key loads, the others wait for its result or exception.
+ *
+ * <p>Only callers inside a read-only transaction take part, which is what
+ * every GET handler opens; writes and callers outside any transaction
+ * always load on their own, so a shared entity is never changed or handed
+ * to a write service. The first caller runs its load in a new read-only
+ * transaction whose session is closed before the result is shared, so
+ * shared entities are detached and never reach another thread's session.
+ * Loaders must therefore return data that is fully initialized for
+ * mapping. The first caller briefly holds a second connection for that
+ * transaction, while waiting callers keep the one of their own.
+ * Users inside their {@link RecentWriters read-your-writes window} always
+ * load on their own, as a flight may be served by a lagging replica.
+ * Waiting callers stop waiting after {@code social.single-flight.timeout}
+ * ms and load themselves.
+ */
+@Component
+@ManagedResource(objectName = "com.social:type=SingleFlight")
+public class SingleFlight {
+
+  private final RecentWriters recentWriters;
+  private final TransactionTemplate loadTemplate;
+  private final long timeout;
+  private final ConcurrentMap<List<Object>, CompletableFuture<Object>> flights =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Counters> groups = new ConcurrentHashMap<>();
+
+  @Autowired
+  public SingleFlight(RecentWriters recentWriters,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${social.single-flight.timeout:2000}") long timeout) {
+    this.recentWriters = recentWriters;
+    this.loadTemplate = new TransactionTemplate(transactionManager);
+    this.loadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.loadTemplate.setReadOnly(true);
+    this.timeout = timeout;
+  }
+
+  @ManagedAttribute(description = "Loads run by the first caller of a key")
+  public long getLoads() {
+    return groups.values().stream().mapToLong(c -> c.loads.sum()).sum();
+  }
+
+  @ManagedAttribute(description = "Calls answered by another caller's load")
+  public long getCoalesced() {
+    return groups.values().stream().mapToLong(c -> c.coalesced.sum()).sum();
+  }
+
+  @ManagedAttribute(description = "Waiting calls that gave up and loaded themselves")
+  public long getTimeouts() {
+    return groups.values().stream().mapToLong(c -> c.timeouts.sum()).sum();
+  }
+
+  @ManagedAttribute(description = "Loads, coalesced calls and timeouts per group")
+  public Map<String, String> getGroups() {
+    Map<String, String> summary = new TreeMap<>();
+    groups.forEach((name, counters) -> summary.put(name,
+        String.format("loads=%d, coalesced=%d, timeouts=%d",
+            counters.loads.sum(), counters.coalesced.sum(), counters.timeouts.sum())));
+    return summary;
+  }
+
+  /**
+   * Returns the result of the load of {@code key} in flight, or runs
+   * {@code loader} as the first caller.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T load(String group, Object key, Supplier<T> loader) {
+    if (!isShareable()) {
+      return loader.get();
+    }
+
+    Counters counters = groups.computeIfAbsent(group, name -> new Counters());
+    List<Object> flightKey = Arrays.asList(group, key);
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> leader = flights.putIfAbsent(flightKey, flight);
+
+    if (leader != null) {
+      return (T) await(leader, counters, loader);
+    }
+
+    counters.loads.increment();
+    try {
+      T result = loadTemplate.execute(status -> loader.get());
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      flights.remove(flightKey, flight);
+    }
+  }
+
+  private Object await(CompletableFuture<Object> flight,
+                       Counters counters,
+                       Supplier<?> loader) {
+    try {
+      Object result = flight.get(timeout, TimeUnit.MILLISECONDS);
+      counters.coalesced.increment();
+      return result;
+    } catch (TimeoutException e) {
+      counters.timeouts.increment();
+      return loader.get();
+    } catch (ExecutionException e) {
+      counters.coalesced.increment();
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw (Error) cause;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for in-flight load", e);
+    }
+  }
+
+  private boolean isShareable() {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()
+        || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return false;
+    }
+
+    IdentifiedUserDetails principal = PrincipalHolder.getPrincipal();
+    return principal == null || !recentWriters.contains(principal.getId());
+  }
+
+
+  private static final class Counters {
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+  }
+
+}
@@ -0,0 +1,64 @@
+package com.social.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.social.util.TransactionUtils;
+
+/**
+ * Caches login lookups by the email or username they were made with.
+ *
+ * <p>Callers get a copy of the cached details, because authentication
+ * erases credentials of the returned principal.
+ */
+@Component
+public class UserDetailsCache {
+
+  private final Cache<String, IdentifiedUserDetails> cache;
+
+  @Autowired
+  public UserDetailsCache(@Value("${social.cache.user-details.ttl:30000}") long ttl,
+                          @Value("${social.cache.user-details.size:10000}") long size) {
+    this.cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .maximumSize(size)
+        .build();
+  }
+
+  public IdentifiedUserDetails get(String login,
+                                   Function<String, IdentifiedUserDetails> loader) {
+    IdentifiedUserDetails details = cache.getIfPresent(login);
+
+    if (details == null) {
+      details = loader.apply(login);
+      cache.put(login, details);
+    }
+
+    return new IdentifiedUserDetails(
+        details.getId(),
+        details.getUsername(),
+        details.getPassword(),
+        details.getAuthorities()
+    );
+  }
+
+  /**
+   * Evicts every login of the user, now and once the current transaction
+   * commits.
+   */
+  public void invalidate(Long userId) {
+    evict(userId);
+    TransactionUtils.afterCommit(() -> evict(userId));
+  }
+
+  private void evict(Long userId) {
+    cache.asMap().values().removeIf(details -> userId.equals(details.getId()));
+  }
+
+}
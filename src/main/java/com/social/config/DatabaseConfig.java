@@ -1,11 +1,97 @@
 package com.social.config;
 
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.social.common.GuavaRegionFactory;
+import com.social.common.MeteredDataSource;
+import com.social.common.RecentWriters;
+import com.social.common.ReplicaRoutingDataSource;
+import com.social.repository.spring.KeysetJpaRepository;
 
 @Configuration
-@EnableJpaRepositories("com.social.repository.spring")
+@EnableJpaRepositories(value = "com.social.repository.spring",
+    repositoryBaseClass = KeysetJpaRepository.class)
 @EntityScan("com.social.model")
 public class DatabaseConfig {
+
+  /**
+   * Wraps connection pools to expose per-endpoint pool wait and
+   * connection hold times.
+   */
+  @Bean
+  public static BeanPostProcessor meteredDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof HikariDataSource
+            ? new MeteredDataSource((HikariDataSource) bean, beanName)
+            : bean;
+      }
+    };
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+      GuavaRegionFactory regionFactory) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+    };
+  }
+
+
+  /**
+   * Replaces the single pool with a primary and a replica pool once
+   * {@code social.datasource.replica.jdbc-url} is set. The replica pool
+   * takes Hikari settings from {@code social.datasource.replica}.
+   */
+  @Configuration
+  @ConditionalOnProperty("social.datasource.replica.jdbc-url")
+  public static class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+      return properties.initializeDataSourceBuilder()
+          .type(HikariDataSource.class)
+          .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("social.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+      return new HikariDataSource();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+        @Qualifier("primaryDataSource") DataSource primary,
+        @Qualifier("replicaDataSource") DataSource replica,
+        RecentWriters recentWriters) {
+      return new ReplicaRoutingDataSource(primary, replica, recentWriters);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("routingDataSource") DataSource routing) {
+      return new LazyConnectionDataSourceProxy(routing);
+    }
+
+  }
+
 }
@@ -1,21 +1,37 @@
 package com.social.config;
 
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.configurers.CsrfConfigurer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.access.AccessDeniedHandlerImpl;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.logout.HttpStatusReturningLogoutSuccessHandler;
 
+import com.social.common.BoundedPasswordEncoder;
+import com.social.exception.OverloadedException;
+
 @EnableWebSecurity
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
@@ -28,9 +44,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     this.passwordEncoder = passwordEncoder;
   }
 
+  /**
+   * Strength is picked per deployment hardware with
+   * {@code BCryptStrengthBenchmark} of the jmh source set.
+   */
   @Bean
-  public static PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public static BoundedPasswordEncoder passwordEncoder(
+      @Value("${social.password.strength:10}") int strength,
+      @Value("${social.password.threads:0}") int threads,
+      @Value("${social.password.queue:64}") int queue) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queue);
   }
 
   @Override
@@ -55,7 +79,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             .loginProcessingUrl("/auth")
             .usernameParameter("username")
             .passwordParameter("password")
-            .successHandler(new SimpleUrlAuthenticationSuccessHandler("/account")))
+            .successHandler(new SimpleUrlAuthenticationSuccessHandler("/account"))
+            .failureHandler(new OverloadAwareFailureHandler()))
         .logout(c -> c
             .logoutUrl("/logout")
             .logoutSuccessHandler(new HttpStatusReturningLogoutSuccessHandler()))
@@ -66,7 +91,53 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
   @Override
   protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-    auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder);
+    DaoAuthenticationProvider provider = new OverloadAwareAuthenticationProvider();
+    provider.setUserDetailsService(userDetailsService);
+    provider.setPasswordEncoder(passwordEncoder);
+    auth.authenticationProvider(provider);
+  }
+
+
+  /**
+   * Surfaces {@link OverloadedException} of password encoder as
+   * authentication failure, so login filter reports it instead of failing
+   * the whole filter chain.
+   */
+  private static final class OverloadAwareAuthenticationProvider
+      extends DaoAuthenticationProvider {
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+      try {
+        return super.authenticate(authentication);
+      } catch (OverloadedException e) {
+        throw new InternalAuthenticationServiceException(e.getMessage(), e);
+      }
+    }
+
+  }
+
+
+  private static final class OverloadAwareFailureHandler
+      implements AuthenticationFailureHandler {
+
+    private final AuthenticationFailureHandler delegate =
+        new SimpleUrlAuthenticationFailureHandler();
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        AuthenticationException exception)
+        throws IOException, ServletException {
+      if (exception.getCause() instanceof OverloadedException) {
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+            HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        return;
+      }
+
+      delegate.onAuthenticationFailure(request, response, exception);
+    }
+
   }
 
 
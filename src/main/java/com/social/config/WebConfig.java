@@ -1,5 +1,8 @@
 package com.social.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.error.ErrorAttributes;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +12,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.social.common.PostResponseCache;
 import com.social.resolver.exception.LocalizedErrorAttributes;
 
 @Configuration
@@ -21,6 +25,29 @@ public class WebConfig implements WebMvcConfigurer {
     return new LocalizedErrorAttributes(messageSource, includeException);
   }
 
+  @Bean
+  public PostResponseCache postResponseCache(
+      @Value("${social.cache.post-responses.pages:5}") int pages,
+      @Value("${social.cache.post-responses.size:1000}") long size,
+      @Value("${social.cache.post-responses.ttl:60000}") long ttl,
+      @Value("${social.cache.post-responses.max-age:10}") long maxAge) {
+    return new PostResponseCache(pages, size, ttl, maxAge);
+  }
+
+  /**
+   * Runs after the security filter, which resolves whether the
+   * request is anonymous.
+   */
+  @Bean
+  public FilterRegistrationBean<PostResponseCache> postResponseCacheRegistration(
+      PostResponseCache postResponseCache) {
+    FilterRegistrationBean<PostResponseCache> registration =
+        new FilterRegistrationBean<>(postResponseCache);
+    registration.addUrlPatterns("/posts", "/posts/*");
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+    return registration;
+  }
+
   @Bean
   @Profile("!prod")
   public CommonsRequestLoggingFilter loggingFilter() {
@@ -5,6 +5,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,7 +14,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.social.common.EntityTags;
 import com.social.common.PrincipalHolder;
 import com.social.dto.user.CreateDto;
 import com.social.dto.user.DeleteDto;
@@ -34,9 +37,17 @@ public class AccountController {
     this.userService = userService;
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/account")
-  public UserDto get() {
-    User account = userService.find(PrincipalHolder.getUserId());
+  public UserDto get(ServletWebRequest request) {
+    Long id = PrincipalHolder.getUserId();
+
+    if (EntityTags.checkNotModified(request, userService.findVersion(id))) {
+      return null;
+    }
+
+    User account = userService.findPrincipal(id);
+    EntityTags.tag(request, EntityTags.versionOf(account));
     return UserMapper.INSTANCE.toDto(account);
   }
 
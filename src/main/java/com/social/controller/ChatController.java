@@ -1,13 +1,15 @@
 package com.social.controller;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -16,13 +18,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.social.common.EntityTags;
 import com.social.common.PrincipalHolder;
 import com.social.dto.chat.ChatDto;
 import com.social.dto.chat.GroupChatDto;
 import com.social.dto.chat.GroupCreateDto;
 import com.social.dto.chat.GroupMembersDto;
 import com.social.dto.chat.GroupUpdateDto;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.dto.user.UserDto;
 import com.social.mapper.ChatMapper;
 import com.social.mapper.UserMapper;
@@ -44,37 +50,62 @@ public class ChatController {
     this.userService = userService;
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/chats")
   public Page<ChatDto> getAll(Pageable pageable) {
-    User member = userService.find(PrincipalHolder.getUserId());
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
     Page<Chat> chats = chatService.findAll(member, pageable);
     return chats.map(ChatMapper.INSTANCE::toDto);
   }
 
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/chats", params = "paging=cursor")
+  public CursorPage<ChatDto> getAll(CursorRequest request) {
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
+    CursorPage<Chat> chats = chatService.findAll(member, request);
+    return chats.map(ChatMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/chats", params = {"count=false", "!paging"})
+  public Slice<ChatDto> getAllWithoutCount(Pageable pageable) {
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
+    Slice<Chat> chats = chatService.findSlice(member, pageable);
+    return chats.map(ChatMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
   @GetMapping("/chats/{id}")
-  public ChatDto get(@PathVariable Long id) {
-    User member = userService.find(PrincipalHolder.getUserId());
+  public ChatDto get(@PathVariable Long id, ServletWebRequest request) {
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
+
+    if (EntityTags.checkNotModified(request, chatService.findVersion(id, member))) {
+      return null;
+    }
+
     Chat chat = chatService.find(id, member);
+    EntityTags.tag(request, EntityTags.versionOf(chat));
     return ChatMapper.INSTANCE.toDto(chat);
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/chats/{id}/members")
   public Page<UserDto> getMembers(@PathVariable("id") Long id,
                                   Pageable pageable) {
-    User member = userService.find(PrincipalHolder.getUserId());
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
     Page<User> users = chatService.getMembers(id, member, pageable);
     return users.map(UserMapper.INSTANCE::toDto);
   }
 
   @DeleteMapping("/chats/private/{id}")
   public void deletePrivate(@PathVariable("id") Long id) {
-    User member = userService.find(PrincipalHolder.getUserId());
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
     chatService.deletePrivate(id, member);
   }
 
   @PostMapping("/chats/group")
   public GroupChatDto createGroup(@Valid @RequestBody GroupCreateDto dto) {
-    User creator = userService.find(PrincipalHolder.getUserId());
+    User creator = userService.findPrincipal(PrincipalHolder.getUserId());
     Set<User> members = findUsersByIds(dto.getMembers());
     GroupChat chat = chatService.createGroup(creator, dto.getName(), members);
     return ChatMapper.INSTANCE.toDto(chat);
@@ -83,27 +114,27 @@ public class ChatController {
   @PatchMapping("/chats/group/{id}")
   public GroupChatDto updateGroup(@PathVariable Long id,
                                   @Valid @RequestBody GroupUpdateDto dto) {
-    User member = userService.find(PrincipalHolder.getUserId());
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
     GroupChat chat = chatService.updateGroup(id, member, dto.getName());
     return ChatMapper.INSTANCE.toDto(chat);
   }
 
   @PutMapping("/chats/group/{id}")
   public void leaveGroup(@PathVariable("id") Long id) {
-    User user = userService.find(PrincipalHolder.getUserId());
+    User user = userService.findPrincipal(PrincipalHolder.getUserId());
     chatService.leaveGroup(id, user);
   }
 
   @DeleteMapping("/chats/group/{id}")
   public void deleteGroup(@PathVariable("id") Long id) {
-    User owner = userService.find(PrincipalHolder.getUserId());
+    User owner = userService.findPrincipal(PrincipalHolder.getUserId());
     chatService.deleteGroup(id, owner);
   }
 
   @PutMapping("/chats/group/{id}/members")
   public ChatDto updateGroupMembers(@PathVariable Long id,
                                     @Valid @RequestBody GroupMembersDto dto) {
-    User member = userService.find(PrincipalHolder.getUserId());
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
     Set<User> members = findUsersByIds(dto.getMembers());
     GroupChat chat = chatService.updateGroupMembers(id, member, members);
     return ChatMapper.INSTANCE.toDto(chat);
@@ -112,16 +143,14 @@ public class ChatController {
   @PutMapping("/chats/group/{id}/members/{newOwnerId}")
   public GroupChatDto changeOwner(@PathVariable Long id,
                                   @PathVariable Long newOwnerId) {
-    User owner = userService.find(PrincipalHolder.getUserId());
+    User owner = userService.findPrincipal(PrincipalHolder.getUserId());
     User newOwner = userService.find(newOwnerId);
     GroupChat chat = chatService.changeOwner(id, owner, newOwner);
     return ChatMapper.INSTANCE.toDto(chat);
   }
 
   private Set<User> findUsersByIds(List<Long> ids) {
-    return ids.stream()
-        .map(userService::find)
-        .collect(Collectors.toSet());
+    return new HashSet<>(userService.findAllByIds(ids));
   }
 
 }
@@ -3,6 +3,8 @@ package com.social.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,9 +15,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.social.common.PrincipalHolder;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
+import com.social.dto.page.IncludedPage;
 import com.social.dto.reply.CommentDto;
+import com.social.dto.reply.CompactCommentDto;
 import com.social.dto.reply.ContentDto;
 import com.social.mapper.CommentMapper;
+import com.social.mapper.IncludedCollector;
 import com.social.model.post.Comment;
 import com.social.model.post.Post;
 import com.social.model.user.User;
@@ -39,6 +46,7 @@ public class CommentController {
     this.userService = userService;
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/posts/{postId}/comments")
   public Page<CommentDto> getAll(@PathVariable Long postId,
                                  Pageable pageable) {
@@ -47,11 +55,43 @@ public class CommentController {
     return comments.map(CommentMapper.INSTANCE::toDto);
   }
 
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/posts/{postId}/comments", params = {"paging=cursor", "!view"})
+  public CursorPage<CommentDto> getAll(@PathVariable Long postId,
+                                       CursorRequest request) {
+    Post post = postService.find(postId);
+    CursorPage<Comment> comments = commentService.findAll(post, request);
+    return comments.map(CommentMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/posts/{postId}/comments", params = {"count=false", "!paging", "!view"})
+  public Slice<CommentDto> getAllWithoutCount(@PathVariable Long postId,
+                                              Pageable pageable) {
+    Post post = postService.find(postId);
+    Slice<Comment> comments = commentService.findSlice(post, pageable);
+    return comments.map(CommentMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/posts/{postId}/comments", params = "view=compact")
+  public IncludedPage<CompactCommentDto> getAllCompact(@PathVariable Long postId,
+                                                      Pageable pageable) {
+    Post post = postService.find(postId);
+    Page<Comment> comments = commentService.findAll(post, pageable);
+    IncludedCollector included = new IncludedCollector().post(post);
+    comments.forEach(c -> included.user(c.getAuthor()));
+    return new IncludedPage<>(
+        comments.map(CommentMapper.INSTANCE::toCompactDto),
+        included.toDto()
+    );
+  }
+
   @PostMapping("/posts/{postId}/comments")
   public CommentDto create(@PathVariable Long postId,
                            @Validated(ContentDto.CreateGroup.class) @RequestBody ContentDto dto) {
     Post post = postService.find(postId);
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     Comment comment = commentService.create(post, author, dto.getBody());
     return CommentMapper.INSTANCE.toDto(comment);
   }
@@ -59,14 +99,14 @@ public class CommentController {
   @PatchMapping("/posts/{postId}/comments/{id}")
   public CommentDto update(@PathVariable Long id,
                            @Validated(ContentDto.UpdateGroup.class) @RequestBody ContentDto dto) {
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     Comment comment = commentService.update(id, author, dto.getBody());
     return CommentMapper.INSTANCE.toDto(comment);
   }
 
   @DeleteMapping("/posts/{postId}/comments/{id}")
   public void delete(@PathVariable Long id) {
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     commentService.delete(id, author);
   }
 
@@ -3,6 +3,8 @@ package com.social.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,8 +15,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.social.common.PrincipalHolder;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
+import com.social.dto.page.IncludedPage;
+import com.social.dto.reply.CompactMessageDto;
 import com.social.dto.reply.ContentDto;
 import com.social.dto.reply.MessageDto;
+import com.social.mapper.IncludedCollector;
 import com.social.mapper.MessageMapper;
 import com.social.model.chat.Chat;
 import com.social.model.chat.Message;
@@ -39,35 +46,73 @@ public class MessageController {
     this.userService = userService;
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/chats/{chatId}/messages")
   public Page<MessageDto> getAll(@PathVariable Long chatId,
                                  Pageable pageable) {
-    User member = userService.find(PrincipalHolder.getUserId());
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
     Chat chat = chatService.find(chatId, member);
     Page<Message> messages = messageService.findAll(chat, pageable);
     return messages.map(MessageMapper.INSTANCE::toDto);
   }
 
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/chats/{chatId}/messages", params = {"paging=cursor", "!view"})
+  public CursorPage<MessageDto> getAll(@PathVariable Long chatId,
+                                       CursorRequest request) {
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
+    Chat chat = chatService.find(chatId, member);
+    CursorPage<Message> messages = messageService.findAll(chat, request);
+    return messages.map(MessageMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/chats/{chatId}/messages", params = {"count=false", "!paging", "!view"})
+  public Slice<MessageDto> getAllWithoutCount(@PathVariable Long chatId,
+                                              Pageable pageable) {
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
+    Chat chat = chatService.find(chatId, member);
+    Slice<Message> messages = messageService.findSlice(chat, pageable);
+    return messages.map(MessageMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/chats/{chatId}/messages", params = "view=compact")
+  public IncludedPage<CompactMessageDto> getAllCompact(@PathVariable Long chatId,
+                                                      Pageable pageable) {
+    User member = userService.findPrincipal(PrincipalHolder.getUserId());
+    Chat chat = chatService.find(chatId, member);
+    Page<Message> messages = messageService.findAll(chat, pageable);
+    IncludedCollector included = new IncludedCollector().chat(chat);
+    messages.forEach(m -> included.user(m.getAuthor()));
+    return new IncludedPage<>(
+        messages.map(MessageMapper.INSTANCE::toCompactDto),
+        included.toDto()
+    );
+  }
+
+  @Transactional
   @PostMapping("/chats/{chatId}/messages")
   public MessageDto create(@PathVariable Long chatId,
                            @Validated(ContentDto.CreateGroup.class) @RequestBody ContentDto dto) {
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     Chat chat = chatService.find(chatId, author);
     Message message = messageService.create(chat, author, dto.getBody());
     return MessageMapper.INSTANCE.toDto(message);
   }
 
+  @Transactional
   @PatchMapping("/chats/{chatId}/messages/{id}")
   public MessageDto update(@PathVariable Long id,
                            @Validated(ContentDto.UpdateGroup.class) @RequestBody ContentDto dto) {
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     Message message = messageService.update(id, author, dto.getBody());
     return MessageMapper.INSTANCE.toDto(message);
   }
 
   @DeleteMapping("/chats/{chatId}/messages/{id}")
   public void delete(@PathVariable Long id) {
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     messageService.delete(id, author);
   }
 
@@ -3,6 +3,8 @@ package com.social.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,8 +13,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.social.common.EntityTags;
 import com.social.common.PrincipalHolder;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.dto.post.ContentDto;
 import com.social.dto.post.PostDto;
 import com.social.mapper.PostMapper;
@@ -33,36 +39,64 @@ public class PostController {
     this.userService = userService;
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/posts")
   public Page<PostDto> getAll(Pageable pageable) {
     Page<Post> posts = postService.findAll(pageable);
     return posts.map(PostMapper.INSTANCE::toDto);
   }
 
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/posts", params = "paging=cursor")
+  public CursorPage<PostDto> getAll(CursorRequest request) {
+    CursorPage<Post> posts = postService.findAll(request);
+    return posts.map(PostMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/posts", params = {"count=false", "!paging"})
+  public Slice<PostDto> getAllWithoutCount(Pageable pageable) {
+    Slice<Post> posts = postService.findSlice(pageable);
+    return posts.map(PostMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/posts", params = {"total=approximate", "!paging", "!count"})
+  public Page<PostDto> getAllWithApproximateTotal(Pageable pageable) {
+    Page<Post> posts = postService.findAllWithApproximateTotal(pageable);
+    return posts.map(PostMapper.INSTANCE::toDto);
+  }
+
   @PostMapping("/posts")
   public PostDto create(@Validated(ContentDto.CreateGroup.class) @RequestBody ContentDto dto) {
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     Post post = postService.create(author, dto.getTitle(), dto.getBody());
     return PostMapper.INSTANCE.toDto(post);
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/posts/{id}")
-  public PostDto get(@PathVariable Long id) {
+  public PostDto get(@PathVariable Long id, ServletWebRequest request) {
+    if (EntityTags.checkNotModified(request, postService.findVersion(id))) {
+      return null;
+    }
+
     Post post = postService.find(id);
+    EntityTags.tag(request, EntityTags.versionOf(post));
     return PostMapper.INSTANCE.toDto(post);
   }
 
   @PatchMapping("/posts/{id}")
   public PostDto update(@PathVariable Long id,
                         @Validated(ContentDto.UpdateGroup.class) @RequestBody ContentDto dto) {
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     Post post = postService.update(id, author, dto.getTitle(), dto.getBody());
     return PostMapper.INSTANCE.toDto(post);
   }
 
   @DeleteMapping("/posts/{id}")
   public void delete(@PathVariable Long id) {
-    User author = userService.find(PrincipalHolder.getUserId());
+    User author = userService.findPrincipal(PrincipalHolder.getUserId());
     postService.delete(id, author);
   }
 
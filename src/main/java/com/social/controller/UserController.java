@@ -1,20 +1,29 @@
 package com.social.controller;
 
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.social.common.EntityTags;
 import com.social.common.PrincipalHolder;
 import com.social.dto.chat.PrivateChatDto;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.dto.post.PostDto;
 import com.social.dto.user.RoleDto;
 import com.social.dto.user.UserDto;
@@ -44,15 +53,51 @@ public class UserController {
     this.chatService = chatService;
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/users")
   public Page<UserDto> getAll(Pageable pageable) {
     Page<User> users = userService.findAll(pageable);
     return users.map(UserMapper.INSTANCE::toDto);
   }
 
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/users", params = {"paging=cursor", "!ids"})
+  public CursorPage<UserDto> getAll(CursorRequest request) {
+    CursorPage<User> users = userService.findAll(request);
+    return users.map(UserMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/users", params = {"count=false", "!paging", "!ids"})
+  public Slice<UserDto> getAllWithoutCount(Pageable pageable) {
+    Slice<User> users = userService.findSlice(pageable);
+    return users.map(UserMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/users", params = {"total=approximate", "!paging", "!count", "!ids"})
+  public Page<UserDto> getAllWithApproximateTotal(Pageable pageable) {
+    Page<User> users = userService.findAllWithApproximateTotal(pageable);
+    return users.map(UserMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/users", params = "ids")
+  public List<UserDto> getAllByIds(@RequestParam List<Long> ids) {
+    return userService.findAllByIds(ids).stream()
+        .map(UserMapper.INSTANCE::toDto)
+        .collect(Collectors.toList());
+  }
+
+  @Transactional(readOnly = true)
   @GetMapping("/users/{id}")
-  public UserDto get(@PathVariable Long id) {
+  public UserDto get(@PathVariable Long id, ServletWebRequest request) {
+    if (EntityTags.checkNotModified(request, userService.findVersion(id))) {
+      return null;
+    }
+
     User user = userService.find(id);
+    EntityTags.tag(request, EntityTags.versionOf(user));
     return UserMapper.INSTANCE.toDto(user);
   }
 
@@ -63,6 +108,7 @@ public class UserController {
     return UserMapper.INSTANCE.toDto(user);
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/users/{id}/friends")
   public Page<UserDto> getFriends(@PathVariable Long id,
                                   Pageable pageable) {
@@ -80,6 +126,7 @@ public class UserController {
     userService.removeFriend(PrincipalHolder.getUserId(), targetId);
   }
 
+  @Transactional(readOnly = true)
   @GetMapping("/users/{id}/posts")
   public Page<PostDto> getPosts(@PathVariable Long id,
                                 Pageable pageable) {
@@ -88,9 +135,27 @@ public class UserController {
     return posts.map(PostMapper.INSTANCE::toDto);
   }
 
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/users/{id}/posts", params = "paging=cursor")
+  public CursorPage<PostDto> getPosts(@PathVariable Long id,
+                                      CursorRequest request) {
+    User author = userService.find(id);
+    CursorPage<Post> posts = postService.findAll(author, request);
+    return posts.map(PostMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/users/{id}/posts", params = {"count=false", "!paging"})
+  public Slice<PostDto> getPostsWithoutCount(@PathVariable Long id,
+                                             Pageable pageable) {
+    User author = userService.find(id);
+    Slice<Post> posts = postService.findSlice(author, pageable);
+    return posts.map(PostMapper.INSTANCE::toDto);
+  }
+
   @PostMapping("/users/{id}/chats/private")
   public PrivateChatDto createPrivateChat(@PathVariable("id") Long targetId) {
-    User user = userService.find(PrincipalHolder.getUserId());
+    User user = userService.findPrincipal(PrincipalHolder.getUserId());
     User target = userService.find(targetId);
     PrivateChat chat = chatService.createPrivate(user, target);
     return ChatMapper.INSTANCE.toDto(chat);
@@ -0,0 +1,39 @@
+package com.social.dto.page;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Page whose total is an estimate instead of an exact count, flagged by
+ * {@code totalApproximate} in responses. The total is never lower than
+ * the rows known to exist from the slice itself.
+ */
+public class ApproximatePage<T> extends PageImpl<T> {
+
+  public ApproximatePage(Slice<T> slice, long estimatedTotal) {
+    this(slice.getContent(), slice.getPageable(), Math.max(estimatedTotal, known(slice)));
+  }
+
+  private ApproximatePage(List<T> content, Pageable pageable, long total) {
+    super(content, pageable, total);
+  }
+
+  public boolean isTotalApproximate() {
+    return true;
+  }
+
+  @Override
+  public <U> ApproximatePage<U> map(Function<? super T, ? extends U> converter) {
+    return new ApproximatePage<>(getConvertedContent(converter), getPageable(), getTotalElements());
+  }
+
+  private static long known(Slice<?> slice) {
+    long offset = slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0;
+    return offset + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+  }
+
+}
@@ -0,0 +1,91 @@
+package com.social.dto.page;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in a keyset ordered list: sort key of the boundary row and its
+ * id as a tie-breaker. Serialized as an opaque url-safe token; lists
+ * ordered by id alone leave the sort key empty.
+ *
+ * <p>Bound from request params through {@link #valueOf(String)}, so a
+ * malformed token is reported as a type mismatch.
+ */
+public final class Cursor {
+
+  private static final char SEPARATOR = ':';
+  private static final char NANOS_SEPARATOR = '.';
+
+  private final Instant key;
+  private final long id;
+
+  public Cursor(Instant key, long id) {
+    this.key = key;
+    this.id = id;
+  }
+
+  public static Cursor valueOf(String token) {
+    String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    int separator = decoded.indexOf(SEPARATOR);
+
+    if (separator < 0) {
+      throw new IllegalArgumentException("Malformed cursor: " + token);
+    }
+
+    try {
+      Instant key = separator == 0 ? null : parseKey(decoded.substring(0, separator));
+      long id = Long.parseLong(decoded.substring(separator + 1));
+      return new Cursor(key, id);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Malformed cursor: " + token, e);
+    }
+  }
+
+  public Instant getKey() {
+    return key;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  @Override
+  public String toString() {
+    String decoded = formatKey(key) + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Cursor cursor = (Cursor) o;
+    return id == cursor.id && Objects.equals(key, cursor.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(key, id);
+  }
+
+  private static String formatKey(Instant key) {
+    return key == null
+        ? ""
+        : key.getEpochSecond() + String.valueOf(NANOS_SEPARATOR) + key.getNano();
+  }
+
+  private static Instant parseKey(String key) {
+    int separator = key.indexOf(NANOS_SEPARATOR);
+    return Instant.ofEpochSecond(
+        Long.parseLong(key.substring(0, separator)),
+        Long.parseLong(key.substring(separator + 1)));
+  }
+
+}
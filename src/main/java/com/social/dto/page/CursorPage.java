@@ -0,0 +1,43 @@
+package com.social.dto.page;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset page: content with opaque cursors of adjacent pages instead of
+ * page numbers and totals. {@code next} is absent on the last page,
+ * {@code prev} on the first one.
+ */
+public class CursorPage<T> {
+
+  private final List<T> content;
+  private final Cursor next;
+  private final Cursor prev;
+
+  public CursorPage(List<T> content, Cursor next, Cursor prev) {
+    this.content = content;
+    this.next = next;
+    this.prev = prev;
+  }
+
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+    List<R> converted = content.stream()
+        .map(converter)
+        .collect(Collectors.toList());
+    return new CursorPage<>(converted, next, prev);
+  }
+
+  public List<T> getContent() {
+    return content;
+  }
+
+  public String getNext() {
+    return next != null ? next.toString() : null;
+  }
+
+  public String getPrev() {
+    return prev != null ? prev.toString() : null;
+  }
+
+}
@@ -0,0 +1,30 @@
+package com.social.dto.page;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Keyset page request bound from {@code after}, {@code before} and
+ * {@code size} params. Without a cursor the first page is requested;
+ * {@code before} takes precedence when both are given.
+ */
+@Getter
+@Setter
+public class CursorRequest {
+
+  public static final int DEFAULT_SIZE = 20;
+  public static final int MAX_SIZE = 100;
+
+  private Cursor after;
+  private Cursor before;
+  private int size = DEFAULT_SIZE;
+
+  public int getSize() {
+    return Math.max(1, Math.min(size, MAX_SIZE));
+  }
+
+  public boolean isBackward() {
+    return before != null;
+  }
+
+}
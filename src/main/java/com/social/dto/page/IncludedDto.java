@@ -0,0 +1,20 @@
+package com.social.dto.page;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import com.social.dto.chat.ChatDto;
+import com.social.dto.post.PostDto;
+import com.social.dto.user.UserDto;
+
+@Getter
+@Setter
+public class IncludedDto {
+
+  private Map<Long, UserDto> users;
+  private Map<Long, ChatDto> chats;
+  private Map<Long, PostDto> posts;
+
+}
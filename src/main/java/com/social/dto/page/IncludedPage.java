@@ -0,0 +1,23 @@
+package com.social.dto.page;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * Page of compact items, which reference related resources by id.
+ * Each referenced resource is serialized once per page in {@code included}.
+ */
+public class IncludedPage<T> extends PageImpl<T> {
+
+  private final transient IncludedDto included;
+
+  public IncludedPage(Page<T> page, IncludedDto included) {
+    super(page.getContent(), page.getPageable(), page.getTotalElements());
+    this.included = included;
+  }
+
+  public IncludedDto getIncluded() {
+    return included;
+  }
+
+}
@@ -0,0 +1,12 @@
+package com.social.dto.reply;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CompactMessageDto extends CompactReplyDto {
+
+  private Long chat;
+
+}
@@ -0,0 +1,18 @@
+package com.social.dto.reply;
+
+import java.util.Date;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public abstract class CompactReplyDto {
+
+  private Long id;
+  private Date createdAt;
+  private Date updatedAt;
+  private String body;
+  private Long author;
+
+}
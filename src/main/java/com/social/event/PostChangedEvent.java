@@ -0,0 +1,18 @@
+package com.social.event;
+
+/**
+ * Published when a post or its comment count changes.
+ */
+public final class PostChangedEvent {
+
+  private final Long postId;
+
+  public PostChangedEvent(Long postId) {
+    this.postId = postId;
+  }
+
+  public Long getPostId() {
+    return postId;
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.social.event;
+
+/**
+ * Published when user data shown alongside their content changes.
+ */
+public final class UserChangedEvent {
+
+  private final Long userId;
+
+  public UserChangedEvent(Long userId) {
+    this.userId = userId;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+}
@@ -0,0 +1,28 @@
+package com.social.exception;
+
+import javax.servlet.http.HttpServletResponse;
+
+public class OverloadedException extends LocalizedException {
+  
+  public OverloadedException(String code, Object[] args, Throwable cause) {
+    super(code, args, cause);
+  }
+  
+  public OverloadedException(String code) {
+    super(code);
+  }
+  
+  public OverloadedException(String code, Throwable cause) {
+    super(code, cause);
+  }
+  
+  public OverloadedException(String code, Object... args) {
+    super(code, args);
+  }
+  
+  @Override
+  public int getStatusCode() {
+    return HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+  }
+  
+}
@@ -0,0 +1,43 @@
+package com.social.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.social.repository.PostRepository;
+
+/**
+ * Repairs drift of denormalized post comment counts, e.g. after
+ * manual data fixes or writes that bypassed comment service.
+ */
+@Component
+public class CommentCountJob {
+
+  private static final Logger logger = LoggerFactory.getLogger(CommentCountJob.class);
+
+  private final PostRepository postRepository;
+
+  @Autowired
+  public CommentCountJob(PostRepository postRepository) {
+    this.postRepository = postRepository;
+  }
+
+  @Transactional
+  @Scheduled(
+      initialDelayString = "${social.jobs.comment-count.delay:3600000}",
+      fixedDelayString = "${social.jobs.comment-count.delay:3600000}")
+  public void reconcile() {
+    int repaired = postRepository.reconcileCommentCounts();
+
+    if (repaired > 0) {
+      logger.warn("Repaired comment count of {} post(s)", repaired);
+      return;
+    }
+
+    logger.debug("Comment counts are consistent");
+  }
+
+}
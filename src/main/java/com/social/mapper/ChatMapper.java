@@ -20,7 +20,7 @@ public interface ChatMapper {
   PrivateChatDto toDto(PrivateChat model);
 
   @Mapping(target = "type", constant = "group")
-  @Mapping(target = "members", expression = "java(model.getMembers().size())")
+  @Mapping(target = "members", source = "memberCount")
   GroupChatDto toDto(GroupChat model);
 
   default ChatDto toDto(Chat model) {
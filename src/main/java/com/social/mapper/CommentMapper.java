@@ -1,9 +1,11 @@
 package com.social.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import com.social.dto.reply.CommentDto;
+import com.social.dto.reply.CompactCommentDto;
 import com.social.model.post.Comment;
 
 @Mapper(uses = {UserMapper.class, PostMapper.class})
@@ -13,4 +15,8 @@ public interface CommentMapper {
 
   CommentDto toDto(Comment model);
 
+  @Mapping(target = "author", source = "author.id")
+  @Mapping(target = "post", source = "post.id")
+  CompactCommentDto toCompactDto(Comment model);
+
 }
@@ -0,0 +1,55 @@
+package com.social.mapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.social.dto.chat.ChatDto;
+import com.social.dto.page.IncludedDto;
+import com.social.dto.post.PostDto;
+import com.social.dto.user.UserDto;
+import com.social.model.chat.Chat;
+import com.social.model.post.Post;
+import com.social.model.user.User;
+
+/**
+ * Maps every related model of a page only once, keyed by id.
+ */
+public final class IncludedCollector {
+
+  private final Map<Long, UserDto> users = new LinkedHashMap<>();
+  private final Map<Long, ChatDto> chats = new LinkedHashMap<>();
+  private final Map<Long, PostDto> posts = new LinkedHashMap<>();
+
+  public IncludedCollector user(User model) {
+    if (model != null) {
+      users.computeIfAbsent(model.getId(), id -> UserMapper.INSTANCE.toDto(model));
+    }
+
+    return this;
+  }
+
+  public IncludedCollector chat(Chat model) {
+    if (model != null) {
+      chats.computeIfAbsent(model.getId(), id -> ChatMapper.INSTANCE.toDto(model));
+    }
+
+    return this;
+  }
+
+  public IncludedCollector post(Post model) {
+    if (model != null) {
+      posts.computeIfAbsent(model.getId(), id -> PostMapper.INSTANCE.toDto(model));
+    }
+
+    return this;
+  }
+
+  public IncludedDto toDto() {
+    IncludedDto dto = new IncludedDto();
+    dto.setUsers(users.isEmpty() ? null : users);
+    dto.setChats(chats.isEmpty() ? null : chats);
+    dto.setPosts(posts.isEmpty() ? null : posts);
+    return dto;
+  }
+
+}
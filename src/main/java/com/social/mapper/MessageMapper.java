@@ -1,8 +1,10 @@
 package com.social.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import com.social.dto.reply.CompactMessageDto;
 import com.social.dto.reply.MessageDto;
 import com.social.model.chat.Message;
 
@@ -13,4 +15,8 @@ public interface MessageMapper {
 
   MessageDto toDto(Message model);
 
+  @Mapping(target = "author", source = "author.id")
+  @Mapping(target = "chat", source = "chat.id")
+  CompactMessageDto toCompactDto(Message model);
+
 }
@@ -12,7 +12,7 @@ public interface PostMapper {
 
   PostMapper INSTANCE = Mappers.getMapper(PostMapper.class);
 
-  @Mapping(target = "comments", expression = "java(model.getComments().size())")
+  @Mapping(target = "comments", source = "commentCount")
   PostDto toDto(Post model);
 
 }
@@ -0,0 +1,92 @@
+package com.social.mapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.social.common.IdentifiedUserDetails;
+import com.social.config.SecurityConfig.Authority;
+import com.social.model.user.User;
+
+/**
+ * Who is asking, resolved once per authentication rather than per mapped
+ * user. An authentication is not changed once set and stays the same
+ * object for a request, so each thread keeps the viewer of the last one
+ * and only resolves again when the current authentication is another.
+ */
+public final class Viewer {
+
+  private static final Logger logger = LoggerFactory.getLogger(Viewer.class);
+  private static final AuthenticationTrustResolver TRUST_RESOLVER =
+      new AuthenticationTrustResolverImpl();
+  private static final Viewer UNKNOWN = new Viewer(null);
+  private static final ThreadLocal<Viewer> LAST = new ThreadLocal<>();
+
+  private final Authentication authentication;
+  private final boolean administration;
+  private final boolean authenticated;
+  private final Long id;
+
+  private Viewer(Authentication authentication) {
+    this.authentication = authentication;
+    this.administration = authentication != null && isAdministration(authentication);
+    this.authenticated = authentication != null && !TRUST_RESOLVER.isAnonymous(authentication);
+    Object principal = authentication != null ? authentication.getPrincipal() : null;
+    this.id = principal instanceof IdentifiedUserDetails
+        ? ((IdentifiedUserDetails) principal).getId()
+        : null;
+  }
+
+  public static Viewer current() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    if (authentication == null) {
+      return UNKNOWN;
+    }
+
+    Viewer viewer = LAST.get();
+
+    if (viewer == null || viewer.authentication != authentication) {
+      viewer = new Viewer(authentication);
+      LAST.set(viewer);
+      logger.debug("Viewer resolved: id={}, administration={}, authenticated={}",
+          viewer.id, viewer.administration, viewer.authenticated);
+    }
+
+    return viewer;
+  }
+
+  /**
+   * Tells whether {@code model} is shown with all fields, or with private
+   * ones hidden.
+   */
+  public boolean seesRegular(User model) {
+    if (authentication == null) {
+      // Unable to check request from administration
+      return model.isPublic();
+    }
+
+    // Administration role-based access logic will be here.
+    // E.g. Moder cannot get extended data of another moder.
+    return administration
+        || id != null && id.equals(model.getId())
+        || model.isPublic()
+        || model.isInternal() && authenticated;
+  }
+
+  private static boolean isAdministration(Authentication authentication) {
+    for (GrantedAuthority authority : authentication.getAuthorities()) {
+      String name = authority.getAuthority();
+
+      if (Authority.MODER.equals(name) || Authority.ADMIN.equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
@@ -17,26 +18,51 @@ import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.social.model.user.User;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "chats")
+@Table(name = "chats",
+       uniqueConstraints = @UniqueConstraint(name = Chat.PRIVATE_PAIR_KEY,
+                                             columnNames = {"user_low_id", "user_high_id"}))
 @Inheritance
 @DiscriminatorColumn
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "chats")
 public abstract class Chat {
+
+  public static final String PRIVATE_PAIR_KEY = "UK_chats_private_pair";
   
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   @Column(name = "id")
   private Long id;
   
+  /**
+   * Also incremented by changes of {@link #members}.
+   */
+  @Version
+  @Column(name = "version", nullable = false)
+  private long version;
+  
+  /**
+   * Loaded for a whole page of chats at once, since private chat listings
+   * embed members and an entity graph cannot fetch them on subclasses only.
+   * Cached as well, since chats are small and membership rarely changes.
+   */
   @ManyToMany
+  @BatchSize(size = 50)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "chat-members")
   @JoinTable(joinColumns = @JoinColumn(name = "user_id"),
              inverseJoinColumns = @JoinColumn(name = "chat_id"))
   private Set<User> members = new HashSet<>();
@@ -21,6 +21,13 @@ public class GroupChat extends Chat {
   @Column(name = "name")
   private String name;
   
+  /**
+   * Denormalized size of members, so chat listings and embedded chats
+   * never touch the members join table just to count them.
+   */
+  @Column(name = "member_count", nullable = false)
+  private int memberCount;
+  
   @ManyToOne
   @JoinColumn(name = "user_id")
   private User owner;
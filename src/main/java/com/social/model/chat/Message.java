@@ -1,8 +1,11 @@
 package com.social.model.chat;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
 
 import lombok.Getter;
@@ -13,9 +16,18 @@ import com.social.model.Reply;
 @Getter
 @Setter
 @Entity
-@Table(name = "messages")
+@Table(name = "messages",
+       indexes = @Index(name = "I_messages_chat_created", columnList = "chat_id, created_at, id"))
+@NamedEntityGraph(name = Message.WITH_AUTHOR_AND_CHAT,
+                  attributeNodes = {
+                      @NamedAttributeNode("author"),
+                      @NamedAttributeNode("chat")
+                  })
 public class Message extends Reply {
   
+  /** Fetch plan of message listings. */
+  public static final String WITH_AUTHOR_AND_CHAT = "Message.withAuthorAndChat";
+  
   @ManyToOne
   @JoinColumn(name = "chat_id")
   private Chat chat;
@@ -1,9 +1,35 @@
 package com.social.model.chat;
 
+import javax.persistence.Column;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
 
+import lombok.Getter;
+import lombok.Setter;
+
+import com.social.model.user.User;
+
+@Getter
+@Setter
 @Entity
 @DiscriminatorValue("private")
 public class PrivateChat extends Chat {
+
+  /**
+   * Lower and higher of the two member ids. Together they form the unique
+   * key {@link Chat#PRIVATE_PAIR_KEY}, so a pair of users has at most one
+   * private chat.
+   */
+  @Column(name = "user_low_id")
+  private Long lowMemberId;
+
+  @Column(name = "user_high_id")
+  private Long highMemberId;
+
+  public PrivateChat setMemberPair(User user, User target) {
+    this.lowMemberId = Math.min(user.getId(), target.getId());
+    this.highMemberId = Math.max(user.getId(), target.getId());
+    return this;
+  }
+
 }
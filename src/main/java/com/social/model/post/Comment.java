@@ -1,8 +1,12 @@
 package com.social.model.post;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.Table;
 
 import lombok.Getter;
@@ -13,9 +17,20 @@ import com.social.model.Reply;
 @Getter
 @Setter
 @Entity
-@Table(name = "comments")
+@Table(name = "comments",
+       indexes = @Index(name = "I_comments_post_created", columnList = "post_id, created_at, id"))
+@NamedEntityGraph(name = Comment.WITH_AUTHOR_AND_POST,
+                  attributeNodes = {
+                      @NamedAttributeNode("author"),
+                      @NamedAttributeNode(value = "post", subgraph = "post")
+                  },
+                  subgraphs = @NamedSubgraph(name = "post",
+                                             attributeNodes = @NamedAttributeNode("author")))
 public class Comment extends Reply {
   
+  /** Fetch plan of comment listings, which embed the post with its author. */
+  public static final String WITH_AUTHOR_AND_POST = "Comment.withAuthorAndPost";
+  
   @ManyToOne
   @JoinColumn(name = "post_id")
   private Post post;
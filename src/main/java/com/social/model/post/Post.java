@@ -3,33 +3,54 @@ package com.social.model.post;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.social.model.user.User;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "posts")
+@Table(name = "posts",
+       indexes = {
+           @Index(name = "I_posts_created", columnList = "created_at, id"),
+           @Index(name = "I_posts_author_created", columnList = "user_id, created_at, id")
+       })
+@NamedEntityGraph(name = Post.WITH_AUTHOR, attributeNodes = @NamedAttributeNode("author"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "posts")
 public class Post {
+
+  /** Fetch plan of post listings. */
+  public static final String WITH_AUTHOR = "Post.withAuthor";
   
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   @Column(name = "id")
   private Long id;
   
+  @Version
+  @Column(name = "version", nullable = false)
+  private long version;
+  
   @Column(name = "created_at", nullable = false)
   private ZonedDateTime createdAt = ZonedDateTime.now();
   
@@ -42,6 +63,13 @@ public class Post {
   @Column(name = "body", nullable = false)
   private String body;
   
+  /**
+   * Denormalized size of {@link #comments}. Changed only by atomic
+   * repository updates, hence excluded from regular entity updates.
+   */
+  @Column(name = "comment_count", nullable = false, updatable = false)
+  private int commentCount;
+  
   @OneToMany(mappedBy = "post", cascade = CascadeType.REMOVE)
   private List<Comment> comments = new ArrayList<>();
   
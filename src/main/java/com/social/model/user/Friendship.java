@@ -0,0 +1,63 @@
+package com.social.model.user;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Undirected friendship edge, stored once per pair of users
+ * with the lower user id first.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "friendships")
+@IdClass(Friendship.Key.class)
+public class Friendship {
+
+  @Id
+  @Column(name = "user_low_id")
+  private Long lowId;
+
+  @Id
+  @Column(name = "user_high_id")
+  private Long highId;
+
+
+  @Getter
+  @Setter
+  public static class Key implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long lowId;
+    private Long highId;
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Objects.equals(lowId, key.lowId)
+          && Objects.equals(highId, key.highId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(lowId, highId);
+    }
+
+  }
+
+}
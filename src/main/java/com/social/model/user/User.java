@@ -1,10 +1,9 @@
 package com.social.model.user;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -15,9 +14,13 @@ import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.Transient;
+import javax.persistence.Version;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.social.model.chat.Chat;
 import com.social.model.chat.GroupChat;
@@ -29,6 +32,9 @@ import com.social.model.post.Post;
 @Setter
 @Entity
 @Table(name = "users")
+@BatchSize(size = 50)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
 
   @Id
@@ -36,6 +42,10 @@ public class User {
   @Column(name = "id")
   private Long id;
 
+  @Version
+  @Column(name = "version", nullable = false)
+  private long version;
+
   @Column(name = "email", unique = true, nullable = false)
   private String email;
 
@@ -60,12 +70,6 @@ public class User {
   @Column(name = "role_admin", nullable = false)
   private boolean admin;
 
-  @ManyToMany
-  private Set<User> friends = new HashSet<>();
-
-  @ManyToMany(mappedBy = "friends", cascade = CascadeType.REMOVE)
-  private Set<User> friendFor = new HashSet<>();
-
   @ManyToMany(mappedBy = "members")
   private List<Chat> chats = new ArrayList<>();
 
@@ -81,19 +85,6 @@ public class User {
   @OneToMany(mappedBy = "author")
   private List<Message> messages = new ArrayList<>();
 
-  public void addFriend(User user) {
-    friends.add(user);
-  }
-
-  public void removeFriend(User user) {
-    friends.remove(user);
-  }
-
-  @Transient
-  public boolean hasFriendship(User user) {
-    return friends.contains(user);
-  }
-
   @Transient
   public boolean isPublic() {
     return Publicity.PUBLIC == publicity;
@@ -0,0 +1,181 @@
+package com.social.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.social.util.TransactionUtils;
+
+/**
+ * Row count estimates of large tables for approximate page totals.
+ *
+ * <p>Each estimate is the last refreshed count plus inserts and deletes
+ * committed through this instance since then. Counts are refreshed in the
+ * background and right away once local drift exceeds the relative error
+ * bound. Writes of other instances stay unseen until the next refresh.
+ *
+ * <p>With planner statistics enabled (Postgres only) a refresh reads
+ * {@code pg_class.reltuples} instead of counting, so accuracy also depends
+ * on how recently the table was analyzed.
+ */
+@Component
+@ManagedResource(objectName = "com.social:type=ApproximateCounts")
+public class ApproximateCounts {
+
+  public static final String USERS = "users";
+  public static final String POSTS = "posts";
+
+  private static final Logger logger = LoggerFactory.getLogger(ApproximateCounts.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final double maxError;
+  private final boolean plannerStatistics;
+  private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder refreshes = new LongAdder();
+
+  @Autowired
+  public ApproximateCounts(JdbcTemplate jdbcTemplate,
+                           @Value("${social.count.max-error:0.05}") double maxError,
+                           @Value("${social.count.planner-statistics:false}")
+                               boolean plannerStatistics) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.maxError = maxError;
+    this.plannerStatistics = plannerStatistics;
+  }
+
+  /**
+   * Returns estimated row count of {@code table}; the first call and calls
+   * beyond the error bound run {@code exactCount}.
+   */
+  public long estimate(String table, LongSupplier exactCount) {
+    Estimate estimate = estimates.computeIfAbsent(table, t -> new Estimate(exactCount));
+
+    if (!estimate.isInitialized() || estimate.drift() > maxError * Math.max(estimate.base, 1)) {
+      refresh(table, estimate);
+    } else {
+      hits.increment();
+    }
+
+    return Math.max(estimate.base + estimate.delta.sum(), 0);
+  }
+
+  /**
+   * Accounts rows inserted ({@code delta > 0}) or deleted into the estimate
+   * once the current transaction commits.
+   */
+  public void adjust(String table, long delta) {
+    TransactionUtils.afterCommit(() -> {
+      Estimate estimate = estimates.get(table);
+      if (estimate != null) {
+        estimate.delta.add(delta);
+      }
+    });
+  }
+
+  @Scheduled(
+      initialDelayString = "${social.count.refresh:60000}",
+      fixedDelayString = "${social.count.refresh:60000}")
+  public void refreshAll() {
+    estimates.forEach(this::refresh);
+  }
+
+  @ManagedAttribute(description = "Totals answered from estimate")
+  public long getHits() {
+    return hits.sum();
+  }
+
+  @ManagedAttribute(description = "Counts refreshed from database")
+  public long getRefreshes() {
+    return refreshes.sum();
+  }
+
+  @ManagedAttribute(description = "Estimated row count of users")
+  public long getUsers() {
+    return current(USERS);
+  }
+
+  @ManagedAttribute(description = "Estimated row count of posts")
+  public long getPosts() {
+    return current(POSTS);
+  }
+
+  private long current(String table) {
+    Estimate estimate = estimates.get(table);
+    return estimate != null ? estimate.base + estimate.delta.sum() : -1;
+  }
+
+  /**
+   * Resets local delta before counting, so commits during the count are
+   * at worst counted twice, never lost.
+   */
+  private void refresh(String table, Estimate estimate) {
+    synchronized (estimate) {
+      long delta = estimate.delta.sumThenReset();
+      try {
+        estimate.base = count(table, estimate.exactCount);
+        estimate.initialized = true;
+        refreshes.increment();
+      } catch (RuntimeException e) {
+        estimate.delta.add(delta);
+        if (!estimate.isInitialized()) {
+          throw e;
+        }
+        logger.warn("Failed to refresh row count of {}, keeping estimate", table, e);
+      }
+    }
+  }
+
+  private long count(String table, LongSupplier exactCount) {
+    if (plannerStatistics) {
+      try {
+        Long reltuples = jdbcTemplate.queryForObject(
+            "select cast(reltuples as bigint) from pg_class where relname = ?",
+            Long.class, table);
+        // Never analyzed tables report -1 (or 0 before Postgres 14)
+        if (reltuples != null && reltuples > 0) {
+          return reltuples;
+        }
+      } catch (DataAccessException e) {
+        logger.debug("No planner statistics for {}, counting", table, e);
+      }
+    }
+
+    return exactCount.getAsLong();
+  }
+
+
+  private static final class Estimate {
+
+    private final LongSupplier exactCount;
+    private final LongAdder delta = new LongAdder();
+    private volatile long base;
+    private volatile boolean initialized;
+
+    private Estimate(LongSupplier exactCount) {
+      this.exactCount = exactCount;
+    }
+
+    private boolean isInitialized() {
+      return initialized;
+    }
+
+    private long drift() {
+      return Math.abs(delta.sum());
+    }
+
+  }
+
+}
@@ -4,7 +4,10 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.chat.Chat;
 import com.social.model.chat.GroupChat;
 import com.social.model.chat.PrivateChat;
@@ -16,16 +19,28 @@ public interface ChatRepository {
 
   Optional<Chat> findByIdAndMember(Long id, User member);
 
+  /**
+   * Changes whenever the chat, its members or any member's data changes,
+   * without loading any of them.
+   */
+  Optional<String> findVersionByIdAndMember(Long id, User member);
+
   Optional<PrivateChat> findPrivateByIdAndMember(Long id, User member);
 
   Optional<GroupChat> findGroupByIdAndMember(Long id, User member);
 
   Optional<GroupChat> findGroupByIdAndOwner(Long id, User owner);
 
-  boolean existsPrivateByMembers(User... members);
+  boolean existsPrivateByMembers(User user, User target);
 
   Page<Chat> findAllByMember(User member, Pageable pageable);
 
+  CursorPage<Chat> findAllByMember(User member, CursorRequest request);
+
+  Slice<Chat> findSliceByMember(User member, Pageable pageable);
+
+  Page<User> findMembers(Chat chat, Pageable pageable);
+
   void delete(Chat entity);
 
 }
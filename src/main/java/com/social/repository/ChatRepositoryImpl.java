@@ -1,13 +1,18 @@
 package com.social.repository;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
+import com.social.common.EntityTags;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.chat.Chat;
 import com.social.model.chat.GroupChat;
 import com.social.model.chat.PrivateChat;
@@ -15,6 +20,7 @@ import com.social.model.user.User;
 import com.social.repository.spring.ChatRepositoryBaseSpring;
 import com.social.repository.spring.ChatRepositoryGroupSpring;
 import com.social.repository.spring.ChatRepositoryPrivateSpring;
+import com.social.repository.spring.Keyset;
 
 @Repository
 public class ChatRepositoryImpl implements ChatRepository {
@@ -42,6 +48,16 @@ public class ChatRepositoryImpl implements ChatRepository {
     return baseDelegate.findByIdAndMembersContaining(id, member);
   }
 
+  /**
+   * Member changes increment the chat version and member versions only
+   * grow, so the sum of member versions is enough to cover member data.
+   */
+  @Override
+  public Optional<String> findVersionByIdAndMember(Long id, User member) {
+    return baseDelegate.findVersionsByIdAndMember(id, member)
+        .map(v -> EntityTags.version(v.getVersion(), v.getMemberCount(), v.getMemberVersions()));
+  }
+
   @Override
   public Optional<PrivateChat> findPrivateByIdAndMember(Long id, User member) {
     return privateDelegate.findByIdAndMembersContaining(id, member);
@@ -58,8 +74,10 @@ public class ChatRepositoryImpl implements ChatRepository {
   }
 
   @Override
-  public boolean existsPrivateByMembers(User... members) {
-    return privateDelegate.existsByMembersIn(Arrays.asList(members));
+  public boolean existsPrivateByMembers(User user, User target) {
+    PrivateChat pair = new PrivateChat().setMemberPair(user, target);
+    return privateDelegate.existsByLowMemberIdAndHighMemberId(
+        pair.getLowMemberId(), pair.getHighMemberId());
   }
 
   @Override
@@ -67,9 +85,38 @@ public class ChatRepositoryImpl implements ChatRepository {
     return baseDelegate.findAllByMembersContaining(member, pageable);
   }
 
+  @Override
+  public CursorPage<Chat> findAllByMember(User member, CursorRequest request) {
+    return baseDelegate.findAll(
+        (root, query, cb) -> cb.equal(root.join("members"), member), Keyset.BY_ID_DESC, request);
+  }
+
+  @Override
+  public Slice<Chat> findSliceByMember(User member, Pageable pageable) {
+    return baseDelegate.findSliceByMembersContaining(member, pageable);
+  }
+
+  @Override
+  public Page<User> findMembers(Chat chat, Pageable pageable) {
+    return baseDelegate.findMembers(chat, withStableOrder(pageable));
+  }
+
   @Override
   public void delete(Chat entity) {
     baseDelegate.delete(entity);
   }
 
+  /**
+   * Appends member id as the last sort key, so pages of members
+   * neither overlap nor skip rows when the requested sort has ties.
+   */
+  private static Pageable withStableOrder(Pageable pageable) {
+    if (pageable.isUnpaged()) {
+      return pageable;
+    }
+
+    Sort sort = pageable.getSort().and(Sort.by("id"));
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+  }
+
 }
@@ -4,7 +4,10 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.post.Comment;
 import com.social.model.post.Post;
 import com.social.model.user.User;
@@ -17,6 +20,10 @@ public interface CommentRepository {
 
   Page<Comment> findAllByPost(Post post, Pageable pageable);
 
+  CursorPage<Comment> findAllByPost(Post post, CursorRequest request);
+
+  Slice<Comment> findSliceByPost(Post post, Pageable pageable);
+
   void delete(Comment entity);
 
 }
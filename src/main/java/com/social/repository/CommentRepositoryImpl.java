@@ -5,12 +5,16 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.post.Comment;
 import com.social.model.post.Post;
 import com.social.model.user.User;
 import com.social.repository.spring.CommentRepositorySpring;
+import com.social.repository.spring.Keyset;
 
 @Repository
 public class CommentRepositoryImpl implements CommentRepository {
@@ -37,6 +41,17 @@ public class CommentRepositoryImpl implements CommentRepository {
     return delegate.findAllByPost(post, pageable);
   }
 
+  @Override
+  public CursorPage<Comment> findAllByPost(Post post, CursorRequest request) {
+    return delegate.findAll(
+        (root, query, cb) -> cb.equal(root.get("post"), post), Keyset.NEWEST_FIRST, request);
+  }
+
+  @Override
+  public Slice<Comment> findSliceByPost(Post post, Pageable pageable) {
+    return delegate.findSliceByPost(post, pageable);
+  }
+
   @Override
   public void delete(Comment entity) {
     delegate.delete(entity);
@@ -0,0 +1,205 @@
+package com.social.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import com.social.model.user.Friendship;
+import com.social.repository.spring.FriendshipRepositorySpring;
+import com.social.util.LongPairHashSet;
+import com.social.util.TransactionUtils;
+
+/**
+ * Process-wide copy of the friendships table kept as canonical
+ * {@code (lowId, highId)} pairs of primitive longs. Lookups fall back to
+ * the database until the index is warmed at startup; writes are applied
+ * once the surrounding transaction commits.
+ */
+@Component
+@ManagedResource(objectName = "com.social:type=FriendshipIndex")
+public class FriendshipIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(FriendshipIndex.class);
+  private static final int WARM_UP_BATCH_SIZE = 10_000;
+
+  private final FriendshipRepositorySpring delegate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private LongPairHashSet edges;
+  private List<Consumer<LongPairHashSet>> pending;
+
+  @Autowired
+  public FriendshipIndex(FriendshipRepositorySpring delegate) {
+    this.delegate = delegate;
+  }
+
+  public boolean contains(long lowId, long highId, BooleanSupplier fallback) {
+    return query(set -> set.contains(lowId, highId), fallback::getAsBoolean);
+  }
+
+  /**
+   * Returns those of {@code candidateIds} that are friends of {@code userId}.
+   */
+  public Set<Long> filterFriends(long userId, Collection<Long> candidateIds,
+                                 Supplier<Set<Long>> fallback) {
+    return query(set -> candidateIds.stream()
+        .filter(id -> set.contains(Math.min(userId, id), Math.max(userId, id)))
+        .collect(Collectors.toSet()), fallback);
+  }
+
+  public void added(long lowId, long highId) {
+    afterCommit(s -> s.add(lowId, highId));
+  }
+
+  public void removed(long lowId, long highId) {
+    afterCommit(s -> s.remove(lowId, highId));
+  }
+
+  public void removedAllOf(long userId) {
+    afterCommit(s -> s.removeAll(userId));
+  }
+
+  /**
+   * Loads all friendships in keyset-ordered batches. Writes committed while
+   * loading are queued and replayed on top of the loaded set, so the index
+   * is published consistent with the table.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    long started = System.nanoTime();
+    withWriteLock(() -> pending = new ArrayList<>());
+
+    LongPairHashSet loaded = new LongPairHashSet();
+    try {
+      load(loaded);
+    } catch (RuntimeException e) {
+      withWriteLock(() -> pending = null);
+      logger.error("Failed to warm up friendship index, falling back to database", e);
+      return;
+    }
+
+    withWriteLock(() -> {
+      pending.forEach(op -> op.accept(loaded));
+      pending = null;
+      edges = loaded;
+    });
+    logger.info("Warmed up friendship index with {} edge(s) in {} ms",
+        loaded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+  }
+
+  @ManagedAttribute(description = "Lookups answered from memory")
+  public long getHits() {
+    return hits.sum();
+  }
+
+  @ManagedAttribute(description = "Lookups that fell back to database")
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  @ManagedAttribute(description = "Whether index is warmed up")
+  public boolean isReady() {
+    lock.readLock().lock();
+    try {
+      return edges != null;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @ManagedAttribute(description = "Indexed friendships")
+  public long getEdgeCount() {
+    return read(() -> edges != null ? edges.size() : 0);
+  }
+
+  @ManagedAttribute(description = "Approximate heap footprint in bytes")
+  public long getFootprintBytes() {
+    return read(() -> edges != null ? edges.footprintBytes() : 0);
+  }
+
+  private <T> T query(Function<LongPairHashSet, T> indexed, Supplier<T> fallback) {
+    lock.readLock().lock();
+    try {
+      if (edges != null) {
+        hits.increment();
+        return indexed.apply(edges);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    misses.increment();
+    return fallback.get();
+  }
+
+  private void load(LongPairHashSet target) {
+    long lowId = Long.MIN_VALUE;
+    long highId = Long.MIN_VALUE;
+    List<Friendship> batch;
+    do {
+      batch = delegate.findAllAfter(lowId, highId, PageRequest.of(0, WARM_UP_BATCH_SIZE));
+      for (Friendship friendship : batch) {
+        lowId = friendship.getLowId();
+        highId = friendship.getHighId();
+        target.add(lowId, highId);
+      }
+    } while (batch.size() == WARM_UP_BATCH_SIZE);
+  }
+
+  private void afterCommit(Consumer<LongPairHashSet> op) {
+    TransactionUtils.afterCommit(() -> apply(op));
+  }
+
+  private void apply(Consumer<LongPairHashSet> op) {
+    withWriteLock(() -> {
+      if (edges != null) {
+        op.accept(edges);
+      }
+      if (pending != null) {
+        pending.add(op);
+      }
+    });
+  }
+
+  private long read(LongSupplier supplier) {
+    lock.readLock().lock();
+    try {
+      return supplier.getAsLong();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void withWriteLock(Runnable action) {
+    lock.writeLock().lock();
+    try {
+      action.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.social.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface FriendshipRepository {
+
+  boolean create(Long userId, Long friendId);
+
+  boolean delete(Long userId, Long friendId);
+
+  boolean exists(Long userId, Long friendId);
+
+  Set<Long> findFriendIds(Long userId, Collection<Long> candidateIds);
+
+  void deleteAllByUser(Long userId);
+
+}
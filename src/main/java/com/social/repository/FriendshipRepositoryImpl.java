@@ -0,0 +1,126 @@
+package com.social.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.social.repository.spring.FriendshipRepositorySpring;
+
+@Repository
+public class FriendshipRepositoryImpl implements FriendshipRepository {
+
+  private static final String INSERT_IF_ABSENT = "insert into friendships"
+      + " (user_low_id, user_high_id) select ?, ? where not exists"
+      + " (select 1 from friendships where user_low_id = ? and user_high_id = ?)";
+  private static final String UNIQUE_VIOLATION = "23505";
+
+  private final FriendshipRepositorySpring delegate;
+  private final FriendshipIndex index;
+  private final EntityManager entityManager;
+
+  @Autowired
+  public FriendshipRepositoryImpl(FriendshipRepositorySpring delegate,
+                                  FriendshipIndex index,
+                                  EntityManager entityManager) {
+    this.delegate = delegate;
+    this.index = index;
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public boolean create(Long userId, Long friendId) {
+    Long lowId = low(userId, friendId);
+    Long highId = high(userId, friendId);
+
+    if (insertIfAbsent(lowId, highId) == 0) {
+      return false;
+    }
+
+    index.added(lowId, highId);
+    return true;
+  }
+
+  @Override
+  public boolean delete(Long userId, Long friendId) {
+    Long lowId = low(userId, friendId);
+    Long highId = high(userId, friendId);
+
+    if (delegate.deleteByPair(lowId, highId) == 0) {
+      return false;
+    }
+
+    index.removed(lowId, highId);
+    return true;
+  }
+
+  @Override
+  public boolean exists(Long userId, Long friendId) {
+    Long lowId = low(userId, friendId);
+    Long highId = high(userId, friendId);
+
+    return index.contains(lowId, highId,
+        () -> delegate.existsByLowIdAndHighId(lowId, highId));
+  }
+
+  @Override
+  public Set<Long> findFriendIds(Long userId, Collection<Long> candidateIds) {
+    if (candidateIds.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    return index.filterFriends(userId, candidateIds,
+        () -> delegate.findFriendIds(userId, candidateIds));
+  }
+
+  @Override
+  public void deleteAllByUser(Long userId) {
+    delegate.deleteAllByUser(userId);
+    index.removedAllOf(userId);
+  }
+
+  /**
+   * Portable form of {@code INSERT ... ON CONFLICT DO NOTHING}. A concurrent
+   * duplicate may still pass the check and hit the primary key, so the
+   * insert runs under a savepoint and the violation counts as no insert.
+   * Runs on the session connection, as Hibernate would mark the whole
+   * transaction for rollback on the violation, and leaves second-level
+   * cache regions alone.
+   */
+  private int insertIfAbsent(Long lowId, Long highId) {
+    return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+      Savepoint savepoint = connection.setSavepoint();
+      try (PreparedStatement statement = connection.prepareStatement(INSERT_IF_ABSENT)) {
+        statement.setLong(1, lowId);
+        statement.setLong(2, highId);
+        statement.setLong(3, lowId);
+        statement.setLong(4, highId);
+        int inserted = statement.executeUpdate();
+        connection.releaseSavepoint(savepoint);
+        return inserted;
+      } catch (SQLException e) {
+        connection.rollback(savepoint);
+        if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+          return 0;
+        }
+        throw e;
+      }
+    });
+  }
+
+  private static Long low(Long userId, Long friendId) {
+    return Math.min(userId, friendId);
+  }
+
+  private static Long high(Long userId, Long friendId) {
+    return Math.max(userId, friendId);
+  }
+
+}
@@ -4,7 +4,10 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.chat.Chat;
 import com.social.model.chat.Message;
 import com.social.model.user.User;
@@ -17,6 +20,10 @@ public interface MessageRepository {
 
   Page<Message> findAllByChat(Chat chat, Pageable pageable);
 
+  CursorPage<Message> findAllByChat(Chat chat, CursorRequest request);
+
+  Slice<Message> findSliceByChat(Chat chat, Pageable pageable);
+
   void delete(Message entity);
 
 }
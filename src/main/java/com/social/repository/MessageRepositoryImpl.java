@@ -5,11 +5,15 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.chat.Chat;
 import com.social.model.chat.Message;
 import com.social.model.user.User;
+import com.social.repository.spring.Keyset;
 import com.social.repository.spring.MessageRepositorySpring;
 
 @Repository
@@ -37,6 +41,17 @@ public class MessageRepositoryImpl implements MessageRepository {
     return delegate.findAllByChat(chat, pageable);
   }
 
+  @Override
+  public CursorPage<Message> findAllByChat(Chat chat, CursorRequest request) {
+    return delegate.findAll(
+        (root, query, cb) -> cb.equal(root.get("chat"), chat), Keyset.NEWEST_FIRST, request);
+  }
+
+  @Override
+  public Slice<Message> findSliceByChat(Chat chat, Pageable pageable) {
+    return delegate.findSliceByChat(chat, pageable);
+  }
+
   @Override
   public void delete(Message entity) {
     delegate.delete(entity);
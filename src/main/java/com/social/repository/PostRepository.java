@@ -4,7 +4,10 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.post.Post;
 import com.social.model.user.User;
 
@@ -14,12 +17,34 @@ public interface PostRepository {
 
   Optional<Post> findById(Long id);
 
+  /**
+   * Changes whenever the post, its comment count or its author changes,
+   * without loading any of them.
+   */
+  Optional<String> findVersion(Long id);
+
   Optional<Post> findByIdAndAuthor(Long id, User author);
 
   Page<Post> findAll(Pageable pageable);
 
+  CursorPage<Post> findAll(CursorRequest request);
+
+  Page<Post> findAllWithApproximateTotal(Pageable pageable);
+
   Page<Post> findAllByAuthor(User author, Pageable pageable);
 
+  CursorPage<Post> findAllByAuthor(User author, CursorRequest request);
+
+  Slice<Post> findSlice(Pageable pageable);
+
+  Slice<Post> findSliceByAuthor(User author, Pageable pageable);
+
+  void incrementCommentCount(Post entity);
+
+  void decrementCommentCount(Post entity);
+
+  int reconcileCommentCounts();
+
   void delete(Post entity);
 
 }
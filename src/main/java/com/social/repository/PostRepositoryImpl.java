@@ -1,28 +1,49 @@
 package com.social.repository;
 
 import java.util.Optional;
+import javax.persistence.EntityManager;
 
+import org.hibernate.query.NativeQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import com.social.common.EntityTags;
+import com.social.dto.page.ApproximatePage;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.post.Post;
 import com.social.model.user.User;
+import com.social.repository.spring.Keyset;
 import com.social.repository.spring.PostRepositorySpring;
+import com.social.util.TransactionUtils;
 
 @Repository
 public class PostRepositoryImpl implements PostRepository {
 
+  private static final String UPDATE_COMMENT_COUNT =
+      "update posts set comment_count = comment_count + :delta where id = :id";
+
   private final PostRepositorySpring delegate;
+  private final ApproximateCounts approximateCounts;
+  private final EntityManager entityManager;
 
   @Autowired
-  public PostRepositoryImpl(PostRepositorySpring delegate) {
+  public PostRepositoryImpl(PostRepositorySpring delegate,
+                            ApproximateCounts approximateCounts,
+                            EntityManager entityManager) {
     this.delegate = delegate;
+    this.approximateCounts = approximateCounts;
+    this.entityManager = entityManager;
   }
 
   @Override
   public Post save(Post entity) {
+    if (entity.getId() == null) {
+      approximateCounts.adjust(ApproximateCounts.POSTS, 1);
+    }
     return delegate.save(entity);
   }
 
@@ -31,6 +52,12 @@ public class PostRepositoryImpl implements PostRepository {
     return delegate.findById(id);
   }
 
+  @Override
+  public Optional<String> findVersion(Long id) {
+    return delegate.findVersionsById(id)
+        .map(v -> EntityTags.version(v.getVersion(), v.getCommentCount(), v.getAuthorVersion()));
+  }
+
   @Override
   public Optional<Post> findByIdAndAuthor(Long id, User author) {
     return delegate.findByIdAndAuthor(id, author);
@@ -41,14 +68,78 @@ public class PostRepositoryImpl implements PostRepository {
     return delegate.findAll(pageable);
   }
 
+  @Override
+  public CursorPage<Post> findAll(CursorRequest request) {
+    return delegate.findAll(null, Keyset.NEWEST_FIRST, request);
+  }
+
+  @Override
+  public Page<Post> findAllWithApproximateTotal(Pageable pageable) {
+    return new ApproximatePage<>(
+        delegate.findSlice(pageable),
+        approximateCounts.estimate(ApproximateCounts.POSTS, delegate::count));
+  }
+
   @Override
   public Page<Post> findAllByAuthor(User author, Pageable pageable) {
     return delegate.findAllByAuthor(author, pageable);
   }
 
+  @Override
+  public CursorPage<Post> findAllByAuthor(User author, CursorRequest request) {
+    return delegate.findAll(
+        (root, query, cb) -> cb.equal(root.get("author"), author), Keyset.NEWEST_FIRST, request);
+  }
+
+  @Override
+  public Slice<Post> findSlice(Pageable pageable) {
+    return delegate.findSlice(pageable);
+  }
+
+  @Override
+  public Slice<Post> findSliceByAuthor(User author, Pageable pageable) {
+    return delegate.findSliceByAuthor(author, pageable);
+  }
+
+  @Override
+  public void incrementCommentCount(Post entity) {
+    updateCommentCount(entity, 1);
+    entity.setCommentCount(entity.getCommentCount() + 1);
+  }
+
+  @Override
+  public void decrementCommentCount(Post entity) {
+    updateCommentCount(entity, -1);
+    entity.setCommentCount(entity.getCommentCount() - 1);
+  }
+
+  @Override
+  public int reconcileCommentCounts() {
+    return delegate.reconcileCommentCounts();
+  }
+
   @Override
   public void delete(Post entity) {
     delegate.delete(entity);
+    approximateCounts.adjust(ApproximateCounts.POSTS, -1);
+  }
+
+  /**
+   * Changes the count in place on every comment write. A bulk update of
+   * {@link Post} would clear its whole second-level cache region, so the
+   * update is native and synchronized with comments only, and just the
+   * cached entry of this post is evicted once the change is committed.
+   */
+  private void updateCommentCount(Post entity, int delta) {
+    Long id = entity.getId();
+    entityManager.createNativeQuery(UPDATE_COMMENT_COUNT)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedQuerySpace("comments")
+        .setParameter("delta", delta)
+        .setParameter("id", id)
+        .executeUpdate();
+    TransactionUtils.afterCommit(() -> entityManager.getEntityManagerFactory().getCache()
+        .evict(Post.class, id));
   }
 
 }
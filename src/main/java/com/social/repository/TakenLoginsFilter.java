@@ -0,0 +1,207 @@
+package com.social.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import com.social.model.user.User;
+import com.social.repository.spring.UserRepositorySpring;
+import com.social.repository.spring.UserRepositorySpring.Login;
+import com.social.util.TransactionUtils;
+
+/**
+ * Bloom filter of taken emails and usernames in front of the uniqueness
+ * checks. A definite negative answers without the database; probable hits
+ * fall through to the exists query.
+ *
+ * <p>The filter is local to the node. Logins are added on every save
+ * through this node, so on a single node it never misses a committed
+ * login. With several nodes, logins saved by the others are only seen
+ * after the next restart loads them; until then a login taken elsewhere
+ * can pass the check and is rejected by the unique constraints of the
+ * users table instead. Logins of deleted users or replaced by update
+ * cannot be removed and only count as false positives until restart.
+ */
+@Component
+@ManagedResource(objectName = "com.social:type=TakenLoginsFilter")
+public class TakenLoginsFilter {
+
+  private static final Logger logger = LoggerFactory.getLogger(TakenLoginsFilter.class);
+  private static final int WARM_UP_BATCH_SIZE = 10_000;
+  private static final int MIN_EXPECTED_LOGINS = 100_000;
+  private static final int LOGINS_PER_USER = 2;
+  private static final int HEADROOM = 2;
+  private static final String EMAIL_PREFIX = "e:";
+  private static final String USERNAME_PREFIX = "u:";
+
+  private final UserRepositorySpring delegate;
+  private final double fpp;
+  private final LongAdder skipped = new LongAdder();
+  private final LongAdder probableHits = new LongAdder();
+  private final LongAdder falsePositives = new LongAdder();
+  private final LongAdder unavailable = new LongAdder();
+
+  private volatile BloomFilter<CharSequence> active;
+  private volatile BloomFilter<CharSequence> loading;
+  private volatile long expectedLogins;
+
+  @Autowired
+  public TakenLoginsFilter(UserRepositorySpring delegate,
+                           @Value("${social.bloom.logins.fpp:0.01}") double fpp) {
+    this.delegate = delegate;
+    this.fpp = fpp;
+  }
+
+  public boolean existsEmail(String email, BooleanSupplier query) {
+    return exists(EMAIL_PREFIX + email, query);
+  }
+
+  public boolean existsUsername(String username, BooleanSupplier query) {
+    return exists(USERNAME_PREFIX + username, query);
+  }
+
+  /**
+   * Adds logins of the entity right away and again after commit, so a
+   * warm-up running concurrently cannot miss them.
+   */
+  public void put(User entity) {
+    String email = entity.getEmail();
+    String username = entity.getUsername();
+    Runnable put = () -> {
+      putLogins(active, email, username);
+      putLogins(loading, email, username);
+    };
+
+    put.run();
+    TransactionUtils.afterCommit(put);
+  }
+
+  /**
+   * Sizes the filter for twice the current number of logins and fills it
+   * in id-ordered batches. Saves made while loading go to both filters.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    long started = System.nanoTime();
+    long expected = Math.max(MIN_EXPECTED_LOGINS, delegate.count() * LOGINS_PER_USER * HEADROOM);
+    BloomFilter<CharSequence> filter = BloomFilter.create(
+        Funnels.stringFunnel(StandardCharsets.UTF_8), expected, fpp);
+    loading = filter;
+
+    try {
+      load(filter);
+    } catch (RuntimeException e) {
+      loading = null;
+      logger.error("Failed to warm up taken logins filter, falling back to database", e);
+      return;
+    }
+
+    expectedLogins = expected;
+    active = filter;
+    loading = null;
+    logger.info("Warmed up taken logins filter with ~{} login(s) in {} ms",
+        filter.approximateElementCount(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+  }
+
+  @ManagedAttribute(description = "Checks answered without database")
+  public long getSkipped() {
+    return skipped.sum();
+  }
+
+  @ManagedAttribute(description = "Checks passed to database on probable hit")
+  public long getProbableHits() {
+    return probableHits.sum();
+  }
+
+  @ManagedAttribute(description = "Probable hits that database did not confirm")
+  public long getFalsePositives() {
+    return falsePositives.sum();
+  }
+
+  @ManagedAttribute(description = "Checks passed to database before warm-up")
+  public long getUnavailable() {
+    return unavailable.sum();
+  }
+
+  @ManagedAttribute(description = "Observed share of absent logins reported as probable hits")
+  public double getObservedFalsePositiveRate() {
+    long negatives = falsePositives.sum() + skipped.sum();
+    return negatives == 0 ? 0 : (double) falsePositives.sum() / negatives;
+  }
+
+  @ManagedAttribute(description = "False positive probability estimated from filled bits")
+  public double getExpectedFalsePositiveRate() {
+    BloomFilter<CharSequence> filter = active;
+    return filter != null ? filter.expectedFpp() : 0;
+  }
+
+  @ManagedAttribute(description = "Approximate number of logins in filter")
+  public long getApproximateLogins() {
+    BloomFilter<CharSequence> filter = active;
+    return filter != null ? filter.approximateElementCount() : 0;
+  }
+
+  @ManagedAttribute(description = "Number of logins filter was sized for")
+  public long getExpectedLogins() {
+    return expectedLogins;
+  }
+
+  private boolean exists(String key, BooleanSupplier query) {
+    BloomFilter<CharSequence> filter = active;
+
+    if (filter == null) {
+      unavailable.increment();
+      return query.getAsBoolean();
+    }
+
+    if (!filter.mightContain(key)) {
+      skipped.increment();
+      return false;
+    }
+
+    probableHits.increment();
+    boolean exists = query.getAsBoolean();
+
+    if (!exists) {
+      falsePositives.increment();
+    }
+
+    return exists;
+  }
+
+  private void load(BloomFilter<CharSequence> filter) {
+    long lastId = Long.MIN_VALUE;
+    List<Login> batch;
+    do {
+      batch = delegate.findAllLoginsAfter(lastId, PageRequest.of(0, WARM_UP_BATCH_SIZE));
+      for (Login login : batch) {
+        putLogins(filter, login.getEmail(), login.getUsername());
+        lastId = login.getId();
+      }
+    } while (batch.size() == WARM_UP_BATCH_SIZE);
+  }
+
+  private static void putLogins(BloomFilter<CharSequence> filter, String email, String username) {
+    if (filter != null) {
+      filter.put(EMAIL_PREFIX + email);
+      filter.put(USERNAME_PREFIX + username);
+    }
+  }
+
+}
@@ -1,10 +1,15 @@
 package com.social.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.user.User;
 
 public interface UserRepository {
@@ -13,12 +18,26 @@ public interface UserRepository {
 
   Optional<User> findById(Long id);
 
-  Optional<User> findByEmail(String email);
+  Optional<String> findVersion(Long id);
 
-  Optional<User> findByUsername(String username);
+  List<User> findAllByIds(Collection<Long> ids);
+
+  /**
+   * Looks up both unique columns in one query. A match by email wins over
+   * a match by username of another user.
+   */
+  Optional<User> findByEmailOrUsername(String emailOrUsername);
 
   Page<User> findAll(Pageable pageable);
 
+  CursorPage<User> findAll(CursorRequest request);
+
+  Page<User> findAllWithApproximateTotal(Pageable pageable);
+
+  Slice<User> findSlice(Pageable pageable);
+
+  Page<User> findFriends(User user, Pageable pageable);
+
   boolean existsByEmail(String email);
 
   boolean existsByUsername(String username);
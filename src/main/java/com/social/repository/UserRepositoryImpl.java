@@ -1,27 +1,52 @@
 package com.social.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import com.google.common.collect.Iterables;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import com.social.common.EntityTags;
+import com.social.dto.page.ApproximatePage;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.user.User;
+import com.social.repository.spring.Keyset;
 import com.social.repository.spring.UserRepositorySpring;
 
 @Repository
 public class UserRepositoryImpl implements UserRepository {
 
+  /**
+   * Keeps IN lists below parameter limits of drivers and statement caches.
+   */
+  private static final int IN_CHUNK_SIZE = 500;
+
   private final UserRepositorySpring delegate;
+  private final TakenLoginsFilter takenLoginsFilter;
+  private final ApproximateCounts approximateCounts;
 
   @Autowired
-  public UserRepositoryImpl(UserRepositorySpring delegate) {
+  public UserRepositoryImpl(UserRepositorySpring delegate,
+                            TakenLoginsFilter takenLoginsFilter,
+                            ApproximateCounts approximateCounts) {
     this.delegate = delegate;
+    this.takenLoginsFilter = takenLoginsFilter;
+    this.approximateCounts = approximateCounts;
   }
 
   @Override
   public User save(User entity) {
+    takenLoginsFilter.put(entity);
+    if (entity.getId() == null) {
+      approximateCounts.adjust(ApproximateCounts.USERS, 1);
+    }
     return delegate.save(entity);
   }
 
@@ -31,13 +56,29 @@ public class UserRepositoryImpl implements UserRepository {
   }
 
   @Override
-  public Optional<User> findByEmail(String email) {
-    return delegate.findByEmail(email);
+  public Optional<String> findVersion(Long id) {
+    return delegate.findVersionById(id).map(EntityTags::version);
   }
 
   @Override
-  public Optional<User> findByUsername(String username) {
-    return delegate.findByUsername(username);
+  public List<User> findAllByIds(Collection<Long> ids) {
+    List<User> entities = new ArrayList<>(ids.size());
+
+    for (List<Long> chunk : Iterables.partition(ids, IN_CHUNK_SIZE)) {
+      entities.addAll(delegate.findAllById(chunk));
+    }
+
+    return entities;
+  }
+
+  @Override
+  public Optional<User> findByEmailOrUsername(String emailOrUsername) {
+    List<User> entities = delegate.findAllByEmailOrUsername(emailOrUsername, emailOrUsername);
+    return entities.stream()
+        .filter(entity -> emailOrUsername.equals(entity.getEmail()))
+        .findFirst()
+        .map(Optional::of)
+        .orElseGet(() -> entities.stream().findFirst());
   }
 
   @Override
@@ -45,19 +86,43 @@ public class UserRepositoryImpl implements UserRepository {
     return delegate.findAll(pageable);
   }
 
+  @Override
+  public CursorPage<User> findAll(CursorRequest request) {
+    return delegate.findAll(null, Keyset.BY_ID, request);
+  }
+
+  @Override
+  public Page<User> findAllWithApproximateTotal(Pageable pageable) {
+    return new ApproximatePage<>(
+        delegate.findSlice(pageable),
+        approximateCounts.estimate(ApproximateCounts.USERS, delegate::count));
+  }
+
+  @Override
+  public Slice<User> findSlice(Pageable pageable) {
+    return delegate.findSlice(pageable);
+  }
+
+  @Override
+  public Page<User> findFriends(User user, Pageable pageable) {
+    return delegate.findAllFriends(user.getId(), pageable);
+  }
+
   @Override
   public boolean existsByEmail(String email) {
-    return delegate.existsByEmail(email);
+    return takenLoginsFilter.existsEmail(email, () -> delegate.existsByEmail(email));
   }
 
   @Override
   public boolean existsByUsername(String username) {
-    return delegate.existsByUsername(username);
+    return takenLoginsFilter.existsUsername(username,
+        () -> delegate.existsByUsername(username));
   }
 
   @Override
   public void delete(User entity) {
     delegate.delete(entity);
+    approximateCounts.adjust(ApproximateCounts.USERS, -1);
   }
 
 }
@@ -4,15 +4,40 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.social.model.chat.Chat;
 import com.social.model.user.User;
 
-public interface ChatRepositoryBaseSpring<T extends Chat> extends JpaRepository<T, Long> {
+public interface ChatRepositoryBaseSpring<T extends Chat> extends KeysetRepository<T, Long> {
 
   Optional<T> findByIdAndMembersContaining(Long id, User user);
 
+  @Query("select c.version as version, count(m) as memberCount,"
+      + " sum(m.version) as memberVersions from Chat c join c.members m"
+      + " where c.id = :id and :member member of c.members group by c.id, c.version")
+  Optional<Versions> findVersionsByIdAndMember(@Param("id") Long id,
+                                               @Param("member") User member);
+
   Page<T> findAllByMembersContaining(User user, Pageable pageable);
 
+  Slice<T> findSliceByMembersContaining(User user, Pageable pageable);
+
+  @Query(value = "select m from User m join m.chats c where c = :chat",
+         countQuery = "select count(m) from User m join m.chats c where c = :chat")
+  Page<User> findMembers(@Param("chat") Chat chat, Pageable pageable);
+
+
+  interface Versions {
+
+    Long getVersion();
+
+    Long getMemberCount();
+
+    Long getMemberVersions();
+
+  }
+
 }
@@ -1,12 +1,9 @@
 package com.social.repository.spring;
 
-import java.util.List;
-
 import com.social.model.chat.PrivateChat;
-import com.social.model.user.User;
 
 public interface ChatRepositoryPrivateSpring extends ChatRepositoryBaseSpring<PrivateChat> {
 
-  boolean existsByMembersIn(List<User> members);
+  boolean existsByLowMemberIdAndHighMemberId(Long lowMemberId, Long highMemberId);
 
 }
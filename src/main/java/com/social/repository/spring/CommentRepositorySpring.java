@@ -4,16 +4,28 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.post.Comment;
 import com.social.model.post.Post;
 import com.social.model.user.User;
 
-public interface CommentRepositorySpring extends JpaRepository<Comment, Long> {
+public interface CommentRepositorySpring extends KeysetRepository<Comment, Long> {
 
   Optional<Comment> findByIdAndAuthor(Long id, User author);
 
+  @Override
+  @EntityGraph(Comment.WITH_AUTHOR_AND_POST)
+  CursorPage<Comment> findAll(Specification<Comment> spec, Keyset keyset, CursorRequest request);
+
+  @EntityGraph(Comment.WITH_AUTHOR_AND_POST)
   Page<Comment> findAllByPost(Post post, Pageable pageable);
 
+  @EntityGraph(Comment.WITH_AUTHOR_AND_POST)
+  Slice<Comment> findSliceByPost(Post post, Pageable pageable);
+
 }
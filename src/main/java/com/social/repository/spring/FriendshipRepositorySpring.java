@@ -0,0 +1,37 @@
+package com.social.repository.spring;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.social.model.user.Friendship;
+
+public interface FriendshipRepositorySpring extends JpaRepository<Friendship, Friendship.Key> {
+
+  @Modifying
+  @Query("delete from Friendship f where f.lowId = :lowId and f.highId = :highId")
+  int deleteByPair(@Param("lowId") Long lowId, @Param("highId") Long highId);
+
+  @Modifying
+  @Query("delete from Friendship f where f.lowId = :userId or f.highId = :userId")
+  int deleteAllByUser(@Param("userId") Long userId);
+
+  boolean existsByLowIdAndHighId(Long lowId, Long highId);
+
+  @Query("select case when f.lowId = :userId then f.highId else f.lowId end"
+      + " from Friendship f where (f.lowId = :userId and f.highId in :ids)"
+      + " or (f.highId = :userId and f.lowId in :ids)")
+  Set<Long> findFriendIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+  @Query("select f from Friendship f where f.lowId > :lowId"
+      + " or (f.lowId = :lowId and f.highId > :highId) order by f.lowId, f.highId")
+  List<Friendship> findAllAfter(@Param("lowId") Long lowId, @Param("highId") Long highId,
+                                Pageable pageable);
+
+}
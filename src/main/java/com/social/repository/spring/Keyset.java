@@ -0,0 +1,100 @@
+package com.social.repository.spring;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.beans.BeanWrapperImpl;
+
+import com.social.dto.page.Cursor;
+
+/**
+ * Order of a keyset list: optional timestamp attribute, then id as a
+ * tie-breaker, both in the same direction. Each order needs a matching
+ * index ending with the id column.
+ */
+public final class Keyset {
+
+  /** Recent first by {@code createdAt}. */
+  public static final Keyset NEWEST_FIRST = new Keyset("createdAt", true);
+
+  /** Id order, for entities without a creation time. */
+  public static final Keyset BY_ID = new Keyset(null, false);
+
+  /** Reverse id order, for entities without a creation time. */
+  public static final Keyset BY_ID_DESC = new Keyset(null, true);
+
+  private final String attribute;
+  private final boolean descending;
+
+  private Keyset(String attribute, boolean descending) {
+    this.attribute = attribute;
+    this.descending = descending;
+  }
+
+  public boolean isDescending() {
+    return descending;
+  }
+
+  Cursor cursorOf(Object entity, Long id) {
+    if (attribute == null) {
+      return new Cursor(null, id);
+    }
+
+    ZonedDateTime key = (ZonedDateTime) new BeanWrapperImpl(entity).getPropertyValue(attribute);
+    return new Cursor(key.toInstant(), id);
+  }
+
+  /**
+   * Rows strictly past {@code cursor} when reading in the given direction:
+   * {@code (key, id) < (cursor.key, cursor.id)} for descending reads,
+   * expanded into comparisons each index can seek by.
+   */
+  Predicate seek(Root<?> root, String idAttribute, CriteriaBuilder cb,
+                 Cursor cursor, boolean descendingRead) {
+    Path<Long> id = root.get(idAttribute);
+    Predicate idPast = past(cb, id, cursor.getId(), descendingRead);
+
+    if (attribute == null) {
+      return idPast;
+    }
+
+    if (cursor.getKey() == null) {
+      throw new IllegalArgumentException("Cursor has no sort key for order by " + attribute);
+    }
+
+    Path<ZonedDateTime> key = root.get(attribute);
+    ZonedDateTime value = cursor.getKey().atZone(ZoneOffset.UTC);
+    return cb.or(
+        past(cb, key, value, descendingRead),
+        cb.and(cb.equal(key, value), idPast));
+  }
+
+  Order[] orderBy(Root<?> root, String idAttribute, CriteriaBuilder cb, boolean descendingRead) {
+    Path<Long> id = root.get(idAttribute);
+
+    if (attribute == null) {
+      return new Order[]{order(cb, id, descendingRead)};
+    }
+
+    return new Order[]{
+        order(cb, root.get(attribute), descendingRead),
+        order(cb, id, descendingRead)
+    };
+  }
+
+  private static <Y extends Comparable<? super Y>> Predicate past(
+      CriteriaBuilder cb, Expression<? extends Y> path, Y value, boolean descendingRead) {
+    return descendingRead ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+  }
+
+  private static Order order(CriteriaBuilder cb, Expression<?> path, boolean descendingRead) {
+    return descendingRead ? cb.desc(path) : cb.asc(path);
+  }
+
+}
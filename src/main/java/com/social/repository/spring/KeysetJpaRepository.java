@@ -0,0 +1,106 @@
+package com.social.repository.spring;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.Nullable;
+
+import com.social.dto.page.Cursor;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
+
+/**
+ * Base class of all Spring Data repositories, see
+ * {@link com.social.config.DatabaseConfig}. Keyset pages need a numeric
+ * id as tie-breaker, so repositories with composite ids share the class
+ * but cannot read them.
+ *
+ * <p>Reads {@code size + 1} rows to learn whether a further page exists.
+ * Pages before a cursor are read in reverse order and flipped, so both
+ * directions seek by the same index.
+ */
+public class KeysetJpaRepository<T, ID extends Serializable> extends SimpleJpaRepository<T, ID>
+    implements KeysetRepository<T, ID> {
+
+  private final JpaEntityInformation<T, ?> entityInformation;
+  private final EntityManager entityManager;
+
+  public KeysetJpaRepository(JpaEntityInformation<T, ?> entityInformation,
+                             EntityManager entityManager) {
+    super(entityInformation, entityManager);
+    this.entityInformation = entityInformation;
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public CursorPage<T> findAll(@Nullable Specification<T> spec,
+                               Keyset keyset,
+                               CursorRequest request) {
+    if (!Long.class.equals(entityInformation.getIdType())) {
+      throw new UnsupportedOperationException(
+          "Keyset pages need Long ids, found " + entityInformation.getIdType().getName()
+              + " in " + getDomainClass().getName());
+    }
+
+    boolean backward = request.isBackward();
+    Cursor from = backward ? request.getBefore() : request.getAfter();
+    boolean descendingRead = keyset.isDescending() != backward;
+    String idAttribute = entityInformation.getIdAttribute().getName();
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> query = cb.createQuery(getDomainClass());
+    Root<T> root = query.from(getDomainClass());
+    List<Predicate> predicates = new ArrayList<>();
+
+    if (spec != null) {
+      Predicate predicate = spec.toPredicate(root, query, cb);
+      if (predicate != null) {
+        predicates.add(predicate);
+      }
+    }
+    if (from != null) {
+      predicates.add(keyset.seek(root, idAttribute, cb, from, descendingRead));
+    }
+
+    query.select(root)
+        .where(predicates.toArray(new Predicate[0]))
+        .orderBy(keyset.orderBy(root, idAttribute, cb, descendingRead));
+
+    int size = request.getSize();
+    TypedQuery<T> typedQuery = entityManager.createQuery(query)
+        .setMaxResults(size + 1);
+    // Entity graph declared on the redeclared repository method, if any
+    getQueryHints().withFetchGraphs(entityManager).forEach(typedQuery::setHint);
+    List<T> rows = typedQuery.getResultList();
+    boolean hasMore = rows.size() > size;
+    List<T> content = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+
+    if (backward) {
+      Collections.reverse(content);
+    }
+
+    Cursor first = content.isEmpty() ? from : cursorOf(keyset, content.get(0));
+    Cursor last = content.isEmpty() ? from : cursorOf(keyset, content.get(content.size() - 1));
+
+    if (backward) {
+      return new CursorPage<>(content, last, hasMore ? first : null);
+    }
+    return new CursorPage<>(content, hasMore ? last : null, from != null ? first : null);
+  }
+
+  private Cursor cursorOf(Keyset keyset, T entity) {
+    return keyset.cursorOf(entity, (Long) entityInformation.getId(entity));
+  }
+
+}
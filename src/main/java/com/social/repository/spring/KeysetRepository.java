@@ -0,0 +1,27 @@
+package com.social.repository.spring;
+
+import java.io.Serializable;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
+
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
+
+/**
+ * Repository with keyset (seek) pagination, implemented once for all
+ * entities by {@link KeysetJpaRepository}. Entities read by keyset must
+ * have {@code Long} ids.
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T, ID extends Serializable> extends JpaRepository<T, ID> {
+
+  /**
+   * Reads one page of rows matching {@code spec} past the request cursor,
+   * seeking by index instead of skipping an offset and without counting.
+   */
+  CursorPage<T> findAll(@Nullable Specification<T> spec, Keyset keyset, CursorRequest request);
+
+}
@@ -4,16 +4,28 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.chat.Chat;
 import com.social.model.chat.Message;
 import com.social.model.user.User;
 
-public interface MessageRepositorySpring extends JpaRepository<Message, Long> {
+public interface MessageRepositorySpring extends KeysetRepository<Message, Long> {
 
   Optional<Message> findByIdAndAuthor(Long id, User author);
 
+  @Override
+  @EntityGraph(Message.WITH_AUTHOR_AND_CHAT)
+  CursorPage<Message> findAll(Specification<Message> spec, Keyset keyset, CursorRequest request);
+
+  @EntityGraph(Message.WITH_AUTHOR_AND_CHAT)
   Page<Message> findAllByChat(Chat chat, Pageable pageable);
 
+  @EntityGraph(Message.WITH_AUTHOR_AND_CHAT)
+  Slice<Message> findSliceByChat(Chat chat, Pageable pageable);
+
 }
@@ -4,15 +4,59 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.post.Post;
 import com.social.model.user.User;
 
-public interface PostRepositorySpring extends JpaRepository<Post, Long> {
+public interface PostRepositorySpring extends KeysetRepository<Post, Long> {
 
   Optional<Post> findByIdAndAuthor(Long id, User author);
 
+  @Query("select p.version as version, p.commentCount as commentCount,"
+      + " p.author.version as authorVersion from Post p where p.id = :id")
+  Optional<Versions> findVersionsById(@Param("id") Long id);
+
+  @Override
+  @EntityGraph(Post.WITH_AUTHOR)
+  Page<Post> findAll(Pageable pageable);
+
+  @Override
+  @EntityGraph(Post.WITH_AUTHOR)
+  CursorPage<Post> findAll(Specification<Post> spec, Keyset keyset, CursorRequest request);
+
+  @EntityGraph(Post.WITH_AUTHOR)
   Page<Post> findAllByAuthor(User author, Pageable pageable);
 
+  @EntityGraph(Post.WITH_AUTHOR)
+  @Query("select p from Post p")
+  Slice<Post> findSlice(Pageable pageable);
+
+  @EntityGraph(Post.WITH_AUTHOR)
+  Slice<Post> findSliceByAuthor(User author, Pageable pageable);
+
+  @Modifying
+  @Query("update Post p"
+      + " set p.commentCount = (select count(c) from Comment c where c.post = p)"
+      + " where p.commentCount <> (select count(c) from Comment c where c.post = p)")
+  int reconcileCommentCounts();
+
+
+  interface Versions {
+
+    Long getVersion();
+
+    Integer getCommentCount();
+
+    Long getAuthorVersion();
+
+  }
+
 }
@@ -1,19 +1,48 @@
 package com.social.repository.spring;
 
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.social.model.user.User;
 
-public interface UserRepositorySpring extends JpaRepository<User, Long> {
+public interface UserRepositorySpring extends KeysetRepository<User, Long> {
 
-  Optional<User> findByEmail(String email);
+  List<User> findAllByEmailOrUsername(String email, String username);
 
-  Optional<User> findByUsername(String username);
+  @Query("select u.version from User u where u.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query("select u from User u")
+  Slice<User> findSlice(Pageable pageable);
+
+  @Query("select u from User u"
+      + " where u.id in (select f.highId from Friendship f where f.lowId = :userId)"
+      + " or u.id in (select f.lowId from Friendship f where f.highId = :userId)")
+  Page<User> findAllFriends(@Param("userId") Long userId, Pageable pageable);
 
   boolean existsByEmail(String email);
 
   boolean existsByUsername(String username);
 
+  @Query("select u.id as id, u.email as email, u.username as username from User u"
+      + " where u.id > :id order by u.id")
+  List<Login> findAllLoginsAfter(@Param("id") Long id, Pageable pageable);
+
+
+  interface Login {
+
+    Long getId();
+
+    String getEmail();
+
+    String getUsername();
+
+  }
+
 }
@@ -4,7 +4,10 @@ import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.chat.Chat;
 import com.social.model.chat.GroupChat;
 import com.social.model.chat.PrivateChat;
@@ -32,6 +35,12 @@ public interface ChatService {
 
   Chat find(Long id, User member);
 
+  String findVersion(Long id, User member);
+
   Page<Chat> findAll(User member, Pageable pageable);
 
+  CursorPage<Chat> findAll(User member, CursorRequest request);
+
+  Slice<Chat> findSlice(User member, Pageable pageable);
+
 }
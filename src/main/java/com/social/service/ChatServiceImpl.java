@@ -1,17 +1,22 @@
 package com.social.service;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.Sets;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.exception.IllegalActionException;
 import com.social.exception.NotFoundException;
 import com.social.model.chat.Chat;
@@ -19,16 +24,20 @@ import com.social.model.chat.GroupChat;
 import com.social.model.chat.PrivateChat;
 import com.social.model.user.User;
 import com.social.repository.ChatRepository;
+import com.social.repository.FriendshipRepository;
 import com.social.util.NullableUtils;
 
 @Service
 public class ChatServiceImpl implements ChatService {
 
   private final ChatRepository chatRepository;
+  private final FriendshipRepository friendshipRepository;
 
   @Autowired
-  public ChatServiceImpl(ChatRepository chatRepository) {
+  public ChatServiceImpl(ChatRepository chatRepository,
+                         FriendshipRepository friendshipRepository) {
     this.chatRepository = chatRepository;
+    this.friendshipRepository = friendshipRepository;
   }
 
   @Transactional
@@ -39,14 +48,21 @@ public class ChatServiceImpl implements ChatService {
           "illegalAction.chat.private.alreadyExist", target.getId());
     }
 
-    if (!target.isPublic() && !target.hasFriendship(user)) {
+    if (!target.isPublic() && !hasFriendship(target, user)) {
       throw new IllegalActionException(
           "illegalAction.chat.private.createNotFriend", target.getId());
     }
 
-    PrivateChat entity = new PrivateChat();
+    PrivateChat entity = new PrivateChat().setMemberPair(user, target);
     entity.setMembers(Sets.newHashSet(user, target));
-    return chatRepository.save(entity);
+
+    try {
+      return chatRepository.save(entity);
+    } catch (DataIntegrityViolationException e) {
+      // Lost the race to a concurrent request, the pair key rejected the duplicate
+      throw new IllegalActionException(
+          "illegalAction.chat.private.alreadyExist", target.getId());
+    }
   }
 
   @Transactional
@@ -59,12 +75,7 @@ public class ChatServiceImpl implements ChatService {
   @Transactional
   @Override
   public GroupChat createGroup(User creator, String name, Set<User> members) {
-    for (User member : members) {
-      if (!member.isPublic() && !member.hasFriendship(creator)) {
-        throw new IllegalActionException(
-            "illegalAction.chat.group.addNotFriend", member.getId());
-      }
-    }
+    checkPublicOrFriends(members, creator);
 
     Set<User> finalMembers = new HashSet<>(members);
     finalMembers.add(creator);
@@ -73,6 +84,7 @@ public class ChatServiceImpl implements ChatService {
     entity.setName(name);
     entity.setOwner(creator);
     entity.setMembers(finalMembers);
+    entity.setMemberCount(finalMembers.size());
     return chatRepository.save(entity);
   }
 
@@ -94,23 +106,14 @@ public class ChatServiceImpl implements ChatService {
           "illegalAction.chat.group.removeOwner", id, owner.getId());
     }
 
-    Set<User> finalMembers = new HashSet<>();
-
-    for (User member : members) {
-      if (entity.hasMember(member)) {
-        finalMembers.add(member);
-        continue;
-      }
-
-      if (!member.isPublic() && !member.hasFriendship(owner)) {
-        throw new IllegalActionException(
-            "illegalAction.chat.group.addNotFriend", member.getId());
-      }
-
-      finalMembers.add(member);
-    }
+    Set<User> newMembers = members.stream()
+        .filter(member -> !entity.hasMember(member))
+        .collect(Collectors.toSet());
+    checkPublicOrFriends(newMembers, owner);
 
+    Set<User> finalMembers = new HashSet<>(members);
     entity.setMembers(finalMembers);
+    entity.setMemberCount(finalMembers.size());
     return chatRepository.save(entity);
   }
 
@@ -141,6 +144,7 @@ public class ChatServiceImpl implements ChatService {
     Set<User> finalMembers = new HashSet<>(entity.getMembers());
     finalMembers.remove(member);
     entity.setMembers(finalMembers);
+    entity.setMemberCount(finalMembers.size());
     chatRepository.save(entity);
   }
 
@@ -151,12 +155,14 @@ public class ChatServiceImpl implements ChatService {
     chatRepository.delete(entity);
   }
 
+  @Transactional(readOnly = true)
   @Override
   public Page<User> getMembers(Long id, User member, Pageable pageable) {
-    Set<User> members = this.find(id, member).getMembers();
-    return new PageImpl<>(new ArrayList<>(members), pageable, members.size());
+    Chat entity = this.find(id, member);
+    return chatRepository.findMembers(entity, pageable);
   }
 
+  @Transactional(readOnly = true)
   @Override
   public Chat find(Long id, User member) {
     return chatRepository.findByIdAndMember(id, member)
@@ -164,11 +170,61 @@ public class ChatServiceImpl implements ChatService {
             "notFound.chat.byIdAndMember", id, member.getId()));
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public String findVersion(Long id, User member) {
+    return chatRepository.findVersionByIdAndMember(id, member)
+        .orElseThrow(() -> new NotFoundException(
+            "notFound.chat.byIdAndMember", id, member.getId()));
+  }
+
+  @Transactional(readOnly = true)
   @Override
   public Page<Chat> findAll(User member, Pageable pageable) {
     return chatRepository.findAllByMember(member, pageable);
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public CursorPage<Chat> findAll(User member, CursorRequest request) {
+    return chatRepository.findAllByMember(member, request);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Slice<Chat> findSlice(User member, Pageable pageable) {
+    return chatRepository.findSliceByMember(member, pageable);
+  }
+
+  /**
+   * Checks all non-public candidates against the friends of {@code user}
+   * at once and reports every offending id.
+   */
+  private void checkPublicOrFriends(Collection<User> candidates, User user) {
+    Set<Long> notPublicIds = candidates.stream()
+        .filter(candidate -> !candidate.isPublic())
+        .map(User::getId)
+        .collect(Collectors.toSet());
+
+    if (notPublicIds.isEmpty()) {
+      return;
+    }
+
+    Set<Long> friendIds = friendshipRepository.findFriendIds(user.getId(), notPublicIds);
+    List<Long> offendingIds = notPublicIds.stream()
+        .filter(id -> !friendIds.contains(id))
+        .sorted()
+        .collect(Collectors.toList());
+
+    if (!offendingIds.isEmpty()) {
+      throw new IllegalActionException("illegalAction.chat.group.addNotFriends", offendingIds);
+    }
+  }
+
+  private boolean hasFriendship(User user, User friend) {
+    return friendshipRepository.exists(user.getId(), friend.getId());
+  }
+
   private PrivateChat findPrivateByIdAndMember(Long id, User member) {
     return chatRepository.findPrivateByIdAndMember(id, member)
         .orElseThrow(() -> new NotFoundException(
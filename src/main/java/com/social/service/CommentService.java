@@ -2,7 +2,10 @@ package com.social.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.post.Comment;
 import com.social.model.post.Post;
 import com.social.model.user.User;
@@ -17,4 +20,8 @@ public interface CommentService {
   
   Page<Comment> findAll(Post post, Pageable pageable);
   
+  CursorPage<Comment> findAll(Post post, CursorRequest request);
+  
+  Slice<Comment> findSlice(Post post, Pageable pageable);
+  
 }
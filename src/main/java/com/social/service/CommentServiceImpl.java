@@ -1,29 +1,50 @@
 package com.social.service;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.social.common.SingleFlight;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
+import com.social.event.PostChangedEvent;
 import com.social.exception.IllegalActionException;
 import com.social.exception.NotFoundException;
 import com.social.model.post.Comment;
 import com.social.model.post.Post;
 import com.social.model.user.User;
 import com.social.repository.CommentRepository;
+import com.social.repository.FriendshipRepository;
+import com.social.repository.PostRepository;
 import com.social.util.NullableUtils;
 
 @Service
 public class CommentServiceImpl implements CommentService {
 
   private final CommentRepository commentRepository;
+  private final PostRepository postRepository;
+  private final FriendshipRepository friendshipRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SingleFlight singleFlight;
 
   @Autowired
-  public CommentServiceImpl(CommentRepository commentRepository) {
+  public CommentServiceImpl(CommentRepository commentRepository,
+                            PostRepository postRepository,
+                            FriendshipRepository friendshipRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            SingleFlight singleFlight) {
     this.commentRepository = commentRepository;
+    this.postRepository = postRepository;
+    this.friendshipRepository = friendshipRepository;
+    this.eventPublisher = eventPublisher;
+    this.singleFlight = singleFlight;
   }
 
   @Transactional
@@ -35,7 +56,8 @@ public class CommentServiceImpl implements CommentService {
       throw new IllegalActionException("illegalAction.comment.privatePost");
     }
 
-    if (postAuthor.isInternal() && !postAuthor.hasFriendship(author)) {
+    if (postAuthor.isInternal()
+        && !friendshipRepository.exists(postAuthor.getId(), author.getId())) {
       throw new IllegalActionException("illegalAction.comment.internalPost");
     }
 
@@ -43,7 +65,10 @@ public class CommentServiceImpl implements CommentService {
     entity.setBody(body);
     entity.setPost(post);
     entity.setAuthor(author);
-    return commentRepository.save(entity);
+    Comment saved = commentRepository.save(entity);
+    postRepository.incrementCommentCount(post);
+    eventPublisher.publishEvent(new PostChangedEvent(post.getId()));
+    return saved;
   }
 
   @Transactional
@@ -60,11 +85,35 @@ public class CommentServiceImpl implements CommentService {
   public void delete(Long id, User author) {
     Comment entity = findByIdAndAuthor(id, author);
     commentRepository.delete(entity);
+    postRepository.decrementCommentCount(entity.getPost());
+    eventPublisher.publishEvent(new PostChangedEvent(entity.getPost().getId()));
   }
 
+  /**
+   * Not transactional, so only callers already in a read-only transaction
+   * share first pages, see {@link SingleFlight}.
+   */
   @Override
   public Page<Comment> findAll(Post post, Pageable pageable) {
-    return commentRepository.findAllByPost(post, pageable);
+    if (pageable.isPaged() && pageable.getPageNumber() > 0) {
+      return commentRepository.findAllByPost(post, pageable);
+    }
+
+    // First pages of hot posts are requested together
+    return singleFlight.load("comments", Arrays.asList(post.getId(), pageable),
+        () -> commentRepository.findAllByPost(post, pageable));
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public CursorPage<Comment> findAll(Post post, CursorRequest request) {
+    return commentRepository.findAllByPost(post, request);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Slice<Comment> findSlice(Post post, Pageable pageable) {
+    return commentRepository.findSliceByPost(post, pageable);
   }
 
   private Comment findByIdAndAuthor(Long id, User author) {
@@ -2,7 +2,10 @@ package com.social.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.chat.Chat;
 import com.social.model.chat.Message;
 import com.social.model.user.User;
@@ -17,4 +20,8 @@ public interface MessageService {
   
   Page<Message> findAll(Chat chat, Pageable pageable);
   
+  CursorPage<Message> findAll(Chat chat, CursorRequest request);
+  
+  Slice<Message> findSlice(Chat chat, Pageable pageable);
+  
 }
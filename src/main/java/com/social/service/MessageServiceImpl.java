@@ -5,9 +5,12 @@ import java.time.ZonedDateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.exception.NotFoundException;
 import com.social.model.chat.Chat;
 import com.social.model.chat.Message;
@@ -51,11 +54,24 @@ public class MessageServiceImpl implements MessageService {
     messageRepository.delete(entity);
   }
 
+  @Transactional(readOnly = true)
   @Override
   public Page<Message> findAll(Chat chat, Pageable pageable) {
     return messageRepository.findAllByChat(chat, pageable);
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public CursorPage<Message> findAll(Chat chat, CursorRequest request) {
+    return messageRepository.findAllByChat(chat, request);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Slice<Message> findSlice(Chat chat, Pageable pageable) {
+    return messageRepository.findSliceByChat(chat, pageable);
+  }
+
   private Message findByIdAndAuthor(Long id, User author) {
     return messageRepository.findByIdAndAuthor(id, author)
         .orElseThrow(() -> new NotFoundException(
@@ -2,7 +2,10 @@ package com.social.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.post.Post;
 import com.social.model.user.User;
 
@@ -16,8 +19,20 @@ public interface PostService {
   
   Post find(Long id);
   
+  String findVersion(Long id);
+  
   Page<Post> findAll(Pageable pageable);
   
   Page<Post> findAll(User author, Pageable pageable);
   
+  CursorPage<Post> findAll(CursorRequest request);
+  
+  CursorPage<Post> findAll(User author, CursorRequest request);
+  
+  Slice<Post> findSlice(Pageable pageable);
+  
+  Slice<Post> findSlice(User author, Pageable pageable);
+  
+  Page<Post> findAllWithApproximateTotal(Pageable pageable);
+  
 }
@@ -3,11 +3,17 @@ package com.social.service;
 import java.time.ZonedDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.social.common.SingleFlight;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
+import com.social.event.PostChangedEvent;
 import com.social.exception.NotFoundException;
 import com.social.model.post.Post;
 import com.social.model.user.User;
@@ -18,10 +24,16 @@ import com.social.util.NullableUtils;
 public class PostServiceImpl implements PostService {
 
   private final PostRepository postRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SingleFlight singleFlight;
 
   @Autowired
-  public PostServiceImpl(PostRepository postRepository) {
+  public PostServiceImpl(PostRepository postRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         SingleFlight singleFlight) {
     this.postRepository = postRepository;
+    this.eventPublisher = eventPublisher;
+    this.singleFlight = singleFlight;
   }
 
   @Transactional
@@ -31,7 +43,9 @@ public class PostServiceImpl implements PostService {
     entity.setTitle(title);
     entity.setBody(body);
     entity.setAuthor(author);
-    return postRepository.save(entity);
+    Post saved = postRepository.save(entity);
+    eventPublisher.publishEvent(new PostChangedEvent(saved.getId()));
+    return saved;
   }
 
   @Transactional
@@ -41,6 +55,7 @@ public class PostServiceImpl implements PostService {
     entity.setUpdatedAt(ZonedDateTime.now());
     NullableUtils.set(entity::setTitle, title);
     NullableUtils.set(entity::setBody, body);
+    eventPublisher.publishEvent(new PostChangedEvent(id));
     return postRepository.save(entity);
   }
 
@@ -49,24 +64,68 @@ public class PostServiceImpl implements PostService {
   public void delete(Long id, User author) {
     Post entity = findByIdAndAuthor(id, author);
     postRepository.delete(entity);
+    eventPublisher.publishEvent(new PostChangedEvent(id));
   }
 
+  /**
+   * Not transactional, so only callers already in a read-only transaction
+   * share loads, see {@link SingleFlight}.
+   */
   @Override
   public Post find(Long id) {
-    return postRepository.findById(id)
+    return singleFlight.load("posts", id, () -> postRepository.findById(id)
+        .orElseThrow(() -> new NotFoundException("notFound.post.byId", id)));
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public String findVersion(Long id) {
+    return postRepository.findVersion(id)
         .orElseThrow(() -> new NotFoundException("notFound.post.byId", id));
   }
 
+  @Transactional(readOnly = true)
   @Override
   public Page<Post> findAll(Pageable pageable) {
     return postRepository.findAll(pageable);
   }
 
+  @Transactional(readOnly = true)
   @Override
   public Page<Post> findAll(User author, Pageable pageable) {
     return postRepository.findAllByAuthor(author, pageable);
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public CursorPage<Post> findAll(CursorRequest request) {
+    return postRepository.findAll(request);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public CursorPage<Post> findAll(User author, CursorRequest request) {
+    return postRepository.findAllByAuthor(author, request);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Slice<Post> findSlice(Pageable pageable) {
+    return postRepository.findSlice(pageable);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Slice<Post> findSlice(User author, Pageable pageable) {
+    return postRepository.findSliceByAuthor(author, pageable);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Page<Post> findAllWithApproximateTotal(Pageable pageable) {
+    return postRepository.findAllWithApproximateTotal(pageable);
+  }
+
   private Post findByIdAndAuthor(Long id, User author) {
     return postRepository.findByIdAndAuthor(id, author)
         .orElseThrow(() -> new NotFoundException(
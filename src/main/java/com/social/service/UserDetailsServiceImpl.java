@@ -1,9 +1,7 @@
 package com.social.service;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +12,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.social.common.IdentifiedUserDetails;
+import com.social.common.UserDetailsCache;
 import com.social.config.SecurityConfig.Authority;
 import com.social.model.user.User;
 import com.social.repository.UserRepository;
@@ -21,19 +20,28 @@ import com.social.repository.UserRepository;
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+  private static final GrantedAuthority MODER = new SimpleGrantedAuthority(Authority.MODER);
+  private static final GrantedAuthority ADMIN = new SimpleGrantedAuthority(Authority.ADMIN);
+
   private final UserRepository userRepository;
+  private final UserDetailsCache userDetailsCache;
 
   @Autowired
-  public UserDetailsServiceImpl(UserRepository userRepository) {
+  public UserDetailsServiceImpl(UserRepository userRepository,
+                                UserDetailsCache userDetailsCache) {
     this.userRepository = userRepository;
+    this.userDetailsCache = userDetailsCache;
   }
 
   @Override
   public UserDetails loadUserByUsername(String emailOrUsername) {
-    User entity = userRepository.findByEmail(emailOrUsername)
-        .orElseGet(() -> userRepository.findByUsername(emailOrUsername)
-            .orElseThrow(() -> new UsernameNotFoundException(
-                "No user with email or username: " + emailOrUsername)));
+    return userDetailsCache.get(emailOrUsername, this::load);
+  }
+
+  private IdentifiedUserDetails load(String emailOrUsername) {
+    User entity = userRepository.findByEmailOrUsername(emailOrUsername)
+        .orElseThrow(() -> new UsernameNotFoundException(
+            "No user with email or username: " + emailOrUsername));
     return new IdentifiedUserDetails(
         entity.getId(),
         entity.getUsername(),
@@ -43,19 +51,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
   }
 
   private static Collection<GrantedAuthority> collectAuthorities(User entity) {
-    Set<String> authorities = new HashSet<>();
+    Collection<GrantedAuthority> authorities = new ArrayList<>(2);
 
     if (entity.isModer()) {
-      authorities.add(Authority.MODER);
+      authorities.add(MODER);
     }
 
     if (entity.isAdmin()) {
-      authorities.add(Authority.ADMIN);
+      authorities.add(ADMIN);
     }
 
-    return authorities.stream()
-        .map(SimpleGrantedAuthority::new)
-        .collect(Collectors.toSet());
+    return authorities;
   }
 
 }
@@ -1,8 +1,14 @@
 package com.social.service;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.user.User;
 
 public interface UserService {
@@ -34,6 +40,26 @@ public interface UserService {
   
   User find(Long id);
   
+  /**
+   * Finds a token that changes with the user, without loading it, so
+   * conditional requests can be answered cheaply.
+   */
+  String findVersion(Long id);
+  
+  /**
+   * Finds the user acting in the current request. The result may be served
+   * from a short-lived cache and must not be modified.
+   */
+  User findPrincipal(Long id);
+  
+  List<User> findAllByIds(Collection<Long> ids);
+  
   Page<User> findAll(Pageable pageable);
   
+  CursorPage<User> findAll(CursorRequest request);
+  
+  Slice<User> findSlice(Pageable pageable);
+  
+  Page<User> findAllWithApproximateTotal(Pageable pageable);
+  
 }
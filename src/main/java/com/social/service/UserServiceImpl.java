@@ -1,21 +1,36 @@
 package com.social.service;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.social.common.PrincipalCache;
+import com.social.common.RecentWriters;
+import com.social.common.SingleFlight;
+import com.social.common.UserDetailsCache;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
+import com.social.event.UserChangedEvent;
 import com.social.exception.IllegalActionException;
 import com.social.exception.NotFoundException;
 import com.social.exception.WrongCredentialsException;
 import com.social.model.user.User;
+import com.social.repository.FriendshipRepository;
 import com.social.repository.UserRepository;
 import com.social.util.NullableUtils;
 
@@ -23,12 +38,31 @@ import com.social.util.NullableUtils;
 public class UserServiceImpl implements UserService {
 
   private final UserRepository userRepository;
+  private final FriendshipRepository friendshipRepository;
   private final PasswordEncoder passwordEncoder;
+  private final PrincipalCache principalCache;
+  private final UserDetailsCache userDetailsCache;
+  private final RecentWriters recentWriters;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SingleFlight singleFlight;
 
   @Autowired
-  public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+  public UserServiceImpl(UserRepository userRepository,
+                         FriendshipRepository friendshipRepository,
+                         PasswordEncoder passwordEncoder,
+                         PrincipalCache principalCache,
+                         UserDetailsCache userDetailsCache,
+                         RecentWriters recentWriters,
+                         ApplicationEventPublisher eventPublisher,
+                         SingleFlight singleFlight) {
     this.userRepository = userRepository;
+    this.friendshipRepository = friendshipRepository;
     this.passwordEncoder = passwordEncoder;
+    this.principalCache = principalCache;
+    this.userDetailsCache = userDetailsCache;
+    this.recentWriters = recentWriters;
+    this.eventPublisher = eventPublisher;
+    this.singleFlight = singleFlight;
   }
 
   @Transactional
@@ -44,7 +78,10 @@ public class UserServiceImpl implements UserService {
     entity.setFirstName(firstName);
     entity.setLastName(lastName);
     entity.setPassword(passwordEncoder.encode(password));
-    return userRepository.save(entity);
+    User saved = userRepository.save(entity);
+    // Signup has no principal yet, so its first requests would miss it on the replica
+    recentWriters.markAfterCommit(saved.getId());
+    return saved;
   }
 
   @Transactional
@@ -61,6 +98,8 @@ public class UserServiceImpl implements UserService {
     NullableUtils.set(entity::setFirstName, firstName);
     NullableUtils.set(entity::setLastName, lastName);
     NullableUtils.set(entity::setPublicity, publicity);
+    invalidateCaches(id);
+    eventPublisher.publishEvent(new UserChangedEvent(id));
     return userRepository.save(entity);
   }
 
@@ -69,6 +108,8 @@ public class UserServiceImpl implements UserService {
   public User updateRole(Long id, Boolean moder) {
     User entity = this.find(id);
     NullableUtils.set(entity::setModer, moder);
+    invalidateCaches(id);
+    eventPublisher.publishEvent(new UserChangedEvent(id));
     return userRepository.save(entity);
   }
 
@@ -82,6 +123,7 @@ public class UserServiceImpl implements UserService {
     }
 
     entity.setPassword(passwordEncoder.encode(change));
+    invalidateCaches(id);
     userRepository.save(entity);
   }
 
@@ -94,6 +136,9 @@ public class UserServiceImpl implements UserService {
       throw new WrongCredentialsException("wrongCredentials.password");
     }
 
+    friendshipRepository.deleteAllByUser(id);
+    invalidateCaches(id);
+    eventPublisher.publishEvent(new UserChangedEvent(id));
     userRepository.delete(entity);
   }
 
@@ -104,21 +149,16 @@ public class UserServiceImpl implements UserService {
       throw new IllegalActionException("illegalAction.user.addHimself");
     }
 
-    User entity = this.find(id);
+    this.find(id);
     User target = this.find(targetId);
 
     if (target.isPrivate()) {
       throw new IllegalActionException("illegalAction.user.addPrivate", targetId);
     }
 
-    if (entity.hasFriendship(target)) {
+    if (!friendshipRepository.create(id, targetId)) {
       throw new IllegalActionException("illegalAction.user.addPresent", targetId);
     }
-
-    entity.addFriend(target);
-    target.addFriend(entity);
-    userRepository.save(entity);
-    userRepository.save(target);
   }
 
   @Transactional
@@ -128,34 +168,104 @@ public class UserServiceImpl implements UserService {
       throw new IllegalActionException("illegalAction.user.removeHimself", targetId);
     }
 
-    User entity = this.find(id);
-    User target = this.find(targetId);
+    this.find(id);
+    this.find(targetId);
 
-    if (!entity.hasFriendship(target)) {
+    if (!friendshipRepository.delete(id, targetId)) {
       throw new IllegalActionException("illegalAction.user.removeAbsent", targetId);
     }
-
-    entity.removeFriend(target);
-    target.removeFriend(entity);
-    userRepository.save(entity);
-    userRepository.save(target);
   }
 
+  @Transactional(readOnly = true)
   @Override
   public Page<User> getFriends(Long id, Pageable pageable) {
-    Set<User> friends = this.find(id).getFriends();
-    return new PageImpl<>(new ArrayList<>(friends), pageable, friends.size());
+    User entity = this.find(id);
+    return userRepository.findFriends(entity, pageable);
   }
 
+  /**
+   * Not transactional, so only callers already in a read-only transaction
+   * share loads, see {@link SingleFlight}.
+   */
   @Override
   public User find(Long id) {
-    return userRepository.findById(id)
+    return singleFlight.load("users", id, () -> load(id));
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public String findVersion(Long id) {
+    return userRepository.findVersion(id)
         .orElseThrow(() -> new NotFoundException("notFound.user.byId", id));
   }
 
+  /**
+   * Loads a managed instance within write transactions. Elsewhere the
+   * request gets its own instance, never one shared by a flight or cache.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public User findPrincipal(Long id) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return load(id);
+    }
+
+    return principalCache.get(id, this::load);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public List<User> findAllByIds(Collection<Long> ids) {
+    Set<Long> distinctIds = new LinkedHashSet<>(ids);
+    Map<Long, User> entities = userRepository.findAllByIds(distinctIds).stream()
+        .collect(Collectors.toMap(User::getId, Function.identity()));
+
+    List<Long> absentIds = distinctIds.stream()
+        .filter(id -> !entities.containsKey(id))
+        .collect(Collectors.toList());
+
+    if (!absentIds.isEmpty()) {
+      throw new NotFoundException("notFound.user.byIds", absentIds);
+    }
+
+    return distinctIds.stream()
+        .map(entities::get)
+        .collect(Collectors.toList());
+  }
+
+  @Transactional(readOnly = true)
   @Override
   public Page<User> findAll(Pageable pageable) {
     return userRepository.findAll(pageable);
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public CursorPage<User> findAll(CursorRequest request) {
+    return userRepository.findAll(request);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Slice<User> findSlice(Pageable pageable) {
+    return userRepository.findSlice(pageable);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Page<User> findAllWithApproximateTotal(Pageable pageable) {
+    return userRepository.findAllWithApproximateTotal(pageable);
+  }
+
+  private User load(Long id) {
+    return userRepository.findById(id)
+        .orElseThrow(() -> new NotFoundException("notFound.user.byId", id));
+  }
+
+  private void invalidateCaches(Long id) {
+    principalCache.invalidate(id);
+    userDetailsCache.invalidate(id);
+  }
+
 }
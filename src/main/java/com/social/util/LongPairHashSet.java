@@ -0,0 +1,158 @@
+package com.social.util;
+
+/**
+ * Set of {@code (first, second)} pairs of primitive longs backed by open
+ * addressing with linear probing. Not thread-safe.
+ */
+public final class LongPairHashSet {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final int SLOT_BYTES = Long.BYTES * 2 + 1;
+
+  private long[] firsts;
+  private long[] seconds;
+  private boolean[] used;
+  private int size;
+
+  public LongPairHashSet() {
+    this(MIN_CAPACITY);
+  }
+
+  public LongPairHashSet(int expectedSize) {
+    allocate(capacityFor(expectedSize));
+  }
+
+  public boolean add(long first, long second) {
+    if ((size + 1) * 2 > used.length) {
+      rehash(used.length * 2);
+    }
+
+    int mask = used.length - 1;
+    for (int i = slot(first, second, mask); ; i = (i + 1) & mask) {
+      if (!used[i]) {
+        firsts[i] = first;
+        seconds[i] = second;
+        used[i] = true;
+        size++;
+        return true;
+      }
+      if (firsts[i] == first && seconds[i] == second) {
+        return false;
+      }
+    }
+  }
+
+  public boolean contains(long first, long second) {
+    return indexOf(first, second) >= 0;
+  }
+
+  public boolean remove(long first, long second) {
+    int index = indexOf(first, second);
+    if (index < 0) {
+      return false;
+    }
+
+    removeAt(index);
+    return true;
+  }
+
+  /**
+   * Removes every pair having {@code value} on either side. Walks the
+   * table once and deletes matches in place, without reallocating.
+   */
+  public int removeAll(long value) {
+    int removed = 0;
+    for (int i = 0; i < used.length; ) {
+      if (used[i] && (firsts[i] == value || seconds[i] == value)) {
+        // A later pair may be shifted into this slot, so it is checked again.
+        removeAt(i);
+        removed++;
+      } else {
+        i++;
+      }
+    }
+    return removed;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return used.length;
+  }
+
+  /**
+   * Approximate heap footprint of the backing arrays.
+   */
+  public long footprintBytes() {
+    return (long) used.length * SLOT_BYTES;
+  }
+
+  private int indexOf(long first, long second) {
+    int mask = used.length - 1;
+    for (int i = slot(first, second, mask); used[i]; i = (i + 1) & mask) {
+      if (firsts[i] == first && seconds[i] == second) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void removeAt(int gap) {
+    // Backward shift deletion keeps probe chains intact without tombstones.
+    int mask = used.length - 1;
+    used[gap] = false;
+    size--;
+    for (int i = (gap + 1) & mask; used[i]; i = (i + 1) & mask) {
+      int home = slot(firsts[i], seconds[i], mask);
+      if (((i - home) & mask) >= ((i - gap) & mask)) {
+        firsts[gap] = firsts[i];
+        seconds[gap] = seconds[i];
+        used[gap] = true;
+        used[i] = false;
+        gap = i;
+      }
+    }
+  }
+
+  private void rehash(int capacity) {
+    long[] oldFirsts = firsts;
+    long[] oldSeconds = seconds;
+    boolean[] oldUsed = used;
+
+    allocate(capacity);
+    for (int i = 0; i < oldUsed.length; i++) {
+      if (oldUsed[i]) {
+        add(oldFirsts[i], oldSeconds[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    firsts = new long[capacity];
+    seconds = new long[capacity];
+    used = new boolean[capacity];
+    size = 0;
+  }
+
+  private static int capacityFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static int slot(long first, long second, int mask) {
+    // MurmurHash3 finalizer over the combined pair.
+    long h = first * 0x9E3779B97F4A7C15L + second;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB93FE1A85B34L;
+    h ^= h >>> 33;
+    return (int) h & mask;
+  }
+
+}
@@ -0,0 +1,34 @@
+package com.social.util;
+
+import java.util.Objects;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtils {
+
+  private TransactionUtils() {
+  }
+
+  /**
+   * Runs {@code action} once the current transaction commits, or right away
+   * when there is no transaction. Rolled back changes never run it.
+   */
+  public static void afterCommit(Runnable action) {
+    Objects.requireNonNull(action, "Action must not be null");
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronizationAdapter() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+}
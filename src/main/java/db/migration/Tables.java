@@ -0,0 +1,32 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Schema lookups of Java migrations. Tables of entities are created by
+ * Hibernate after migrations have run, so on a fresh schema migrations
+ * of their data find nothing to migrate.
+ */
+final class Tables {
+
+  private Tables() {
+  }
+
+  static boolean exists(Connection connection, String name) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    String[] candidates = {name, name.toUpperCase(Locale.ROOT)};
+    for (String candidate : candidates) {
+      try (ResultSet tables = metaData.getTables(null, null, candidate, null)) {
+        if (tables.next()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
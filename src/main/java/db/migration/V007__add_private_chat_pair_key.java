@@ -0,0 +1,51 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Backfills the member pair of existing private chats and adds its unique key.
+ * Written in Java because on a fresh schema the chats table does not exist
+ * yet and is created by Hibernate together with the key.
+ */
+@SuppressWarnings("checkstyle:TypeName")
+public class V007__add_private_chat_pair_key extends BaseJavaMigration {
+
+  private static final String[] STATEMENTS = {
+      "alter table chats add column if not exists user_low_id bigint",
+      "alter table chats add column if not exists user_high_id bigint",
+      // Join columns of chats_members are swapped: user_id holds the chat id
+      "update chats set"
+          + " user_low_id = (select min(m.chat_id) from chats_members m"
+          + " where m.user_id = chats.id),"
+          + " user_high_id = (select max(m.chat_id) from chats_members m"
+          + " where m.user_id = chats.id)"
+          + " where dtype = 'private'",
+      // Duplicates created by past races keep their messages, only the oldest owns the pair
+      "update chats set user_low_id = null, user_high_id = null"
+          + " where dtype = 'private' and exists (select 1 from chats o"
+          + " where o.dtype = 'private' and o.user_low_id = chats.user_low_id"
+          + " and o.user_high_id = chats.user_high_id and o.id < chats.id)",
+      "alter table chats add constraint UK_chats_private_pair"
+          + " unique (user_low_id, user_high_id)"
+  };
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    if (!Tables.exists(connection, "chats")) {
+      return;
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      for (String sql : STATEMENTS) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,37 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Adds the denormalized comment count of existing posts, counted from their
+ * comments so they are right before the first comment count job run.
+ */
+@SuppressWarnings("checkstyle:TypeName")
+public class V009__add_post_comment_count extends BaseJavaMigration {
+
+  private static final String[] STATEMENTS = {
+      "alter table posts add column if not exists comment_count integer default 0 not null",
+      "update posts set comment_count ="
+          + " (select count(*) from comments c where c.post_id = posts.id)"
+  };
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    if (!Tables.exists(connection, "posts")) {
+      return;
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      for (String sql : STATEMENTS) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,42 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Fills the denormalized member count of existing group chats from their
+ * members. Private chats share the table and keep the default of 0.
+ */
+@SuppressWarnings("checkstyle:TypeName")
+public class V010__add_group_chat_member_count extends BaseJavaMigration {
+
+  private static final String[] STATEMENTS = {
+      "alter table chats add column if not exists member_count integer",
+      // Join columns of chats_members are swapped: user_id holds the chat id
+      "update chats set member_count ="
+          + " (select count(*) from chats_members m where m.user_id = chats.id)"
+          + " where dtype = 'group'",
+      "update chats set member_count = 0 where member_count is null",
+      "alter table chats alter column member_count set default 0",
+      "alter table chats alter column member_count set not null"
+  };
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    if (!Tables.exists(connection, "chats")) {
+      return;
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      for (String sql : STATEMENTS) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+}
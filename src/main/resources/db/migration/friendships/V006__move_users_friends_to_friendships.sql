@@ -0,0 +1,20 @@
+create table if not exists friendships
+(
+    user_low_id  bigint not null,
+    user_high_id bigint not null,
+    primary key (user_low_id, user_high_id),
+    constraint C1_low_lt_high check (user_low_id < user_high_id)
+);
+create index if not exists I1_high_low on friendships (user_high_id, user_low_id);
+
+-- Legacy many-to-many layout, stored both directions of every friendship
+create table if not exists users_friends
+(
+    friend_for_id bigint not null,
+    friends_id    bigint not null
+);
+insert into friendships(user_low_id, user_high_id)
+select distinct least(friend_for_id, friends_id), greatest(friend_for_id, friends_id)
+from users_friends
+where friend_for_id <> friends_id;
+drop table users_friends;
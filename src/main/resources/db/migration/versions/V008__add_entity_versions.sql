@@ -0,0 +1,4 @@
+-- Tables missing here are created by Hibernate with the column in place
+alter table if exists users add column if not exists version bigint default 0 not null;
+alter table if exists posts add column if not exists version bigint default 0 not null;
+alter table if exists chats add column if not exists version bigint default 0 not null;
@@ -0,0 +1,99 @@
+package com.social.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.social.exception.OverloadedException;
+
+public class BoundedPasswordEncoderTest {
+
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private BoundedPasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  public void setUp() {
+    passwordEncoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    release.countDown();
+    passwordEncoder.destroy();
+  }
+
+  @Test
+  public void encode() {
+    release.countDown();
+
+    Assertions
+        .assertThat(passwordEncoder.encode("password"))
+        .isEqualTo("{encoded}password");
+    Assertions
+        .assertThat(passwordEncoder.matches("password", "{encoded}password"))
+        .isTrue();
+    Assertions
+        .assertThat(passwordEncoder.getCompleted())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void encode_whenQueueFull_expectException() throws InterruptedException {
+    CompletableFuture<String> running =
+        CompletableFuture.supplyAsync(() -> passwordEncoder.encode("running"));
+    Assertions
+        .assertThat(started.await(1, TimeUnit.SECONDS))
+        .isTrue();
+    CompletableFuture<String> queued =
+        CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+    while (passwordEncoder.getQueueDepth() == 0) {
+      Thread.sleep(1);
+    }
+
+    Assertions
+        .assertThatThrownBy(() -> passwordEncoder.encode("rejected"))
+        .isExactlyInstanceOf(OverloadedException.class)
+        .hasFieldOrPropertyWithValue("getCodes",
+            new Object[]{"overloaded.passwordEncoder"});
+    Assertions
+        .assertThat(passwordEncoder.getRejected())
+        .isEqualTo(1);
+
+    release.countDown();
+    Assertions
+        .assertThat(running.join())
+        .isEqualTo("{encoded}running");
+    Assertions
+        .assertThat(queued.join())
+        .isEqualTo("{encoded}queued");
+  }
+
+
+  private class BlockingEncoder implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "{encoded}" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encode(rawPassword).equals(encodedPassword);
+    }
+
+  }
+
+}
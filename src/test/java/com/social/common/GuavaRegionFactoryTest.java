@@ -0,0 +1,164 @@
+package com.social.common;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.social.model.post.Post;
+import com.social.model.user.User;
+import com.social.repository.ApproximateCounts;
+import com.social.repository.FriendshipRepository;
+import com.social.repository.PostRepository;
+import com.social.repository.PostRepositoryImpl;
+import com.social.repository.TakenLoginsFilter;
+import com.social.repository.UserRepositoryImpl;
+import com.social.repository.spring.PostRepositorySpring;
+import com.social.repository.spring.UserRepositorySpring;
+import com.social.service.PostService;
+import com.social.service.PostServiceImpl;
+import com.social.service.UserService;
+import com.social.service.UserServiceImpl;
+import com.social.test.JpaTestConfig;
+import com.social.test.QueryCounter;
+import com.social.test.model.factory.ModelFactory;
+import com.social.test.model.mutator.PostMutators;
+import com.social.test.model.mutator.UserMutators;
+import com.social.test.model.type.PostType;
+import com.social.test.model.type.UserType;
+
+/**
+ * Updates through services must replace cached entities, so the next
+ * lookup is both answered from cache and up to date.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {JpaTestConfig.class, GuavaRegionFactory.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class GuavaRegionFactoryTest {
+
+  private @Autowired PlatformTransactionManager transactionManager;
+  private @Autowired TransactionTemplate transactionTemplate;
+  private @Autowired UserRepositorySpring userDelegate;
+  private @Autowired PostRepositorySpring postDelegate;
+  private @Autowired GuavaRegionFactory regionFactory;
+  private @Autowired EntityManager entityManager;
+
+  private UserService userService;
+  private PostRepository postRepository;
+  private PostService postService;
+  private User author;
+  private Long postId;
+  private Long otherPostId;
+
+  @BeforeEach
+  public void setUp() {
+    ApproximateCounts approximateCounts = new ApproximateCounts(null, 0.05, false);
+    RecentWriters recentWriters = new RecentWriters(5_000, 100);
+    SingleFlight singleFlight = new SingleFlight(recentWriters, transactionManager, 2_000);
+    userService = new UserServiceImpl(
+        new UserRepositoryImpl(userDelegate,
+            new TakenLoginsFilter(userDelegate, 0.01), approximateCounts),
+        Mockito.mock(FriendshipRepository.class),
+        Mockito.mock(PasswordEncoder.class),
+        new PrincipalCache(10_000, 100),
+        new UserDetailsCache(30_000, 100),
+        recentWriters,
+        event -> { },
+        singleFlight);
+    postRepository = new PostRepositoryImpl(postDelegate, approximateCounts, entityManager);
+    postService = new PostServiceImpl(postRepository, event -> { }, singleFlight);
+
+    transactionTemplate.execute(status -> {
+      author = userDelegate.save(ModelFactory
+          .createModelMutating(UserType.JOHN_SMITH,
+              UserMutators.id(null)));
+      postId = postDelegate.save(ModelFactory
+          .createModelMutating(PostType.READING,
+              PostMutators.id(null),
+              PostMutators.author(author)))
+          .getId();
+      otherPostId = postDelegate.save(ModelFactory
+          .createModelMutating(PostType.READING,
+              PostMutators.id(null),
+              PostMutators.author(author)))
+          .getId();
+      return null;
+    });
+  }
+
+  @Test
+  public void find_whenUserUpdated_expectCachedUpdate() {
+    Long id = author.getId();
+    inTransaction(() -> userService.find(id));
+    inTransaction(() -> userService.update(id, null, null, "Johnny", null, null));
+
+    User user = assertFromCache(() -> userService.find(id));
+
+    Assertions
+        .assertThat(user.getFirstName())
+        .isEqualTo("Johnny");
+  }
+
+  @Test
+  public void find_whenPostUpdated_expectCachedUpdate() {
+    inTransaction(() -> postService.find(postId));
+    inTransaction(() -> postService.update(postId, author, "Updated", null));
+
+    Post post = assertFromCache(() -> postService.find(postId));
+
+    Assertions
+        .assertThat(post.getTitle())
+        .isEqualTo("Updated");
+    Assertions
+        .assertThat(post.getAuthor().getId())
+        .isEqualTo(author.getId());
+  }
+
+  @Test
+  public void find_whenCommentCountChanged_expectOtherPostsStillCached() {
+    inTransaction(() -> postService.find(postId));
+    inTransaction(() -> postService.find(otherPostId));
+    inTransaction(() -> {
+      postRepository.incrementCommentCount(postService.find(postId));
+      return null;
+    });
+
+    assertFromCache(() -> postService.find(otherPostId));
+    Post post = inTransaction(() -> postService.find(postId));
+
+    Assertions
+        .assertThat(post.getCommentCount())
+        .isEqualTo(1);
+  }
+
+  private <T> T assertFromCache(Supplier<T> lookup) {
+    long hits = regionFactory.getHits();
+    AtomicReference<T> found = new AtomicReference<>();
+
+    Assertions
+        .assertThat(QueryCounter.count(() -> found.set(inTransaction(lookup))))
+        .as("Statements issued by cached lookup")
+        .isZero();
+    Assertions
+        .assertThat(regionFactory.getHits())
+        .isGreaterThan(hits);
+    return found.get();
+  }
+
+  private <T> T inTransaction(Supplier<T> action) {
+    return transactionTemplate.execute(status -> action.get());
+  }
+
+}
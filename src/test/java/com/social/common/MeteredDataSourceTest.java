@@ -0,0 +1,80 @@
+package com.social.common;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+@ExtendWith(MockitoExtension.class)
+public class MeteredDataSourceTest {
+
+  private @Mock DataSource target;
+  private @Mock Connection connection;
+  private MeteredDataSource dataSource;
+
+  @BeforeEach
+  public void setUp() throws SQLException {
+    Mockito
+        .when(target.getConnection())
+        .thenReturn(connection);
+    dataSource = new MeteredDataSource(target, "dataSource");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  public void getConnection_whenMappedRequest_expectEndpointStats() throws SQLException {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts/1");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/posts/{id}");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    Connection metered = dataSource.getConnection();
+    metered.close();
+    metered.close();
+
+    Mockito
+        .verify(connection, Mockito.times(2))
+        .close();
+    Assertions
+        .assertThat(((ConnectionProxy) metered).getTargetConnection())
+        .isSameAs(connection);
+    Assertions
+        .assertThat(dataSource.getConnections())
+        .isEqualTo(1);
+    Assertions
+        .assertThat(dataSource.getEndpoints())
+        .containsOnlyKeys("GET /posts/{id}")
+        .hasEntrySatisfying("GET /posts/{id}", stats -> Assertions
+            .assertThat(stats)
+            .startsWith("connections=1,"));
+  }
+
+  @Test
+  public void getConnection_whenNoRequest_expectBackground() throws SQLException {
+    dataSource.getConnection().close();
+
+    Assertions
+        .assertThat(dataSource.getEndpoints())
+        .containsOnlyKeys("(background)");
+    Assertions
+        .assertThat(dataSource.getActiveConnections())
+        .isEqualTo(-1);
+  }
+
+}
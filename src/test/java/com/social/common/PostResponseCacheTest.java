@@ -0,0 +1,169 @@
+package com.social.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.FilterChain;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.social.event.PostChangedEvent;
+import com.social.event.UserChangedEvent;
+import com.social.test.SecurityManager;
+
+/**
+ * The filter chain stands in for the controller; each call renders the
+ * number of times it was called, so a stale body is easy to tell.
+ */
+public class PostResponseCacheTest {
+
+  private final AtomicInteger renders = new AtomicInteger();
+  private PostResponseCache cache;
+  private FilterChain chain;
+
+  @BeforeEach
+  public void setUp() {
+    cache = new PostResponseCache(2, 100, 60_000, 10);
+    chain = (request, response) -> {
+      response.setContentType("application/json");
+      response.getOutputStream().write(String.valueOf(renders.incrementAndGet())
+          .getBytes(StandardCharsets.UTF_8));
+    };
+  }
+
+  @AfterEach
+  public void tearDown() {
+    SecurityManager.clearContext();
+  }
+
+  @Test
+  public void get_whenRepeated_expectCached() throws Exception {
+    get(feed("0"));
+    MockHttpServletResponse response = get(feed("0"));
+
+    Assertions
+        .assertThat(response.getContentAsString())
+        .isEqualTo("1");
+    Assertions
+        .assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL))
+        .isEqualTo("public, max-age=10");
+    Assertions
+        .assertThat(cache.getHits())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void get_whenEtagMatches_expectNotModified() throws Exception {
+    String etag = get(post()).getHeader(HttpHeaders.ETAG);
+    MockHttpServletRequest request = post();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+    MockHttpServletResponse response = get(request);
+
+    Assertions
+        .assertThat(response.getStatus())
+        .isEqualTo(304);
+    Assertions
+        .assertThat(response.getContentLength())
+        .isZero();
+  }
+
+  @Test
+  public void get_whenPostChanged_expectRendered() throws Exception {
+    get(feed("1"));
+    get(post());
+
+    cache.onPostChanged(new PostChangedEvent(1L));
+
+    Assertions
+        .assertThat(get(feed("1")).getContentAsString())
+        .isEqualTo("3");
+    Assertions
+        .assertThat(get(post()).getContentAsString())
+        .isEqualTo("4");
+  }
+
+  @Test
+  public void get_whenUserChanged_expectRendered() throws Exception {
+    get(post());
+
+    cache.onUserChanged(new UserChangedEvent(1L));
+
+    Assertions
+        .assertThat(get(post()).getContentAsString())
+        .isEqualTo("2");
+  }
+
+  @Test
+  public void get_whenChangedWhileRendering_expectNotCached() throws Exception {
+    FilterChain render = chain;
+    chain = (request, response) -> {
+      render.doFilter(request, response);
+      cache.onPostChanged(new PostChangedEvent(1L));
+    };
+    get(post());
+    chain = render;
+
+    Assertions
+        .assertThat(get(post()).getContentAsString())
+        .isEqualTo("2");
+  }
+
+  @Test
+  public void get_whenPageBeyondLimit_expectNotCached() throws Exception {
+    get(feed("2"));
+
+    Assertions
+        .assertThat(get(feed("2")).getContentAsString())
+        .isEqualTo("2");
+  }
+
+  @Test
+  public void get_whenOtherParameters_expectNotCached() throws Exception {
+    MockHttpServletRequest request = feed("0");
+    request.setParameter("paging", "cursor");
+    get(request);
+
+    Assertions
+        .assertThat(get(request).getContentAsString())
+        .isEqualTo("2");
+  }
+
+  @Test
+  public void get_whenAuthenticated_expectNotCached() throws Exception {
+    SecurityManager.setUser(
+        new IdentifiedUserDetails(1L, "user", "password", Collections.emptySet()));
+    get(post());
+    MockHttpServletResponse response = get(post());
+
+    Assertions
+        .assertThat(response.getContentAsString())
+        .isEqualTo("2");
+    Assertions
+        .assertThat(response.getHeader(HttpHeaders.ETAG))
+        .isNull();
+  }
+
+  private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    cache.doFilter(request, response, chain);
+    return response;
+  }
+
+  private static MockHttpServletRequest feed(String page) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts");
+    request.setParameter("page", page);
+    return request;
+  }
+
+  private static MockHttpServletRequest post() {
+    return new MockHttpServletRequest("GET", "/posts/1");
+  }
+
+}
@@ -0,0 +1,125 @@
+package com.social.common;
+
+import java.util.Collections;
+import java.util.UUID;
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.social.test.SecurityManager;
+
+/**
+ * Two H2 databases stand in for primary and replica; each knows its own
+ * name, so a query shows where it was routed.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readWrite;
+  private TransactionTemplate readOnly;
+  private ReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  public void setUp() {
+    routing = new ReplicaRoutingDataSource(
+        database("primary"), database("replica"), new RecentWriters(60_000, 100));
+    routing.afterPropertiesSet();
+    DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    DataSourceTransactionManager transactionManager =
+        new DataSourceTransactionManager(dataSource);
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    SecurityManager.clearContext();
+  }
+
+  @Test
+  public void readOnly_expectReplica() {
+    Assertions
+        .assertThat(node(readOnly))
+        .isEqualTo("replica");
+    Assertions
+        .assertThat(routing.getReplicaReads())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void readWrite_expectPrimary() {
+    Assertions
+        .assertThat(node(readWrite))
+        .isEqualTo("primary");
+    Assertions
+        .assertThat(jdbcTemplate.queryForObject("select name from node", String.class))
+        .isEqualTo("primary");
+  }
+
+  @Test
+  public void readOnly_whenOwnRecentWrite_expectPrimary() {
+    SecurityManager.setUser(user(1L));
+    node(readWrite);
+
+    Assertions
+        .assertThat(node(readOnly))
+        .isEqualTo("primary");
+    Assertions
+        .assertThat(routing.getPrimaryReads())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void readOnly_whenOtherUserRecentWrite_expectReplica() {
+    SecurityManager.setUser(user(1L));
+    node(readWrite);
+    SecurityManager.setUser(user(2L));
+
+    Assertions
+        .assertThat(node(readOnly))
+        .isEqualTo("replica");
+  }
+
+  @Test
+  public void readOnly_whenOwnWriteRolledBack_expectReplica() {
+    SecurityManager.setUser(user(1L));
+    readWrite.execute(status -> {
+      status.setRollbackOnly();
+      return jdbcTemplate.queryForObject("select name from node", String.class);
+    });
+
+    Assertions
+        .assertThat(node(readOnly))
+        .isEqualTo("replica");
+  }
+
+  private String node(TransactionTemplate transaction) {
+    return transaction.execute(status -> jdbcTemplate
+        .queryForObject("select name from node", String.class));
+  }
+
+  private static DataSource database(String name) {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("create table node (name varchar(16))");
+    jdbcTemplate.update("insert into node (name) values (?)", name);
+    return dataSource;
+  }
+
+  private static IdentifiedUserDetails user(Long id) {
+    return new IdentifiedUserDetails(id, "user" + id, "password", Collections.emptySet());
+  }
+
+}
@@ -0,0 +1,199 @@
+package com.social.common;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.social.exception.NotFoundException;
+import com.social.test.SecurityManager;
+
+/**
+ * A leader blocks in its load until a follower is seen waiting, so both
+ * calls are in flight at once. Callers run as if inside the read-only
+ * transaction of a GET handler.
+ */
+public class SingleFlightTest {
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final PlatformTransactionManager transactionManager =
+      Mockito.mock(PlatformTransactionManager.class);
+  private RecentWriters recentWriters;
+  private SingleFlight singleFlight;
+
+  @BeforeEach
+  public void setUp() {
+    recentWriters = new RecentWriters(60_000, 100);
+    singleFlight = new SingleFlight(recentWriters, transactionManager, 5_000);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    SecurityManager.clearContext();
+  }
+
+  @Test
+  public void load_whenInFlight_expectShared() throws Exception {
+    Object result = new Object();
+
+    Object[] results = concurrently(() -> {
+      loads.incrementAndGet();
+      await(release);
+      return result;
+    });
+
+    Assertions
+        .assertThat(results)
+        .containsExactly(result, result);
+    Assertions
+        .assertThat(loads)
+        .hasValue(1);
+    Assertions
+        .assertThat(singleFlight.getCoalesced())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void load_whenLeaderFails_expectSharedException() throws Exception {
+    NotFoundException failure = new NotFoundException("notFound.post.byId", 1L);
+
+    Object[] results = concurrently(() -> {
+      loads.incrementAndGet();
+      await(release);
+      throw failure;
+    });
+
+    Assertions
+        .assertThat(results)
+        .containsExactly(failure, failure);
+    Assertions
+        .assertThat(loads)
+        .hasValue(1);
+  }
+
+  @Test
+  public void load_whenShared_expectNewReadOnlyTransaction() {
+    inReadOnlyTransaction(() -> singleFlight.load("posts", 1L, loads::incrementAndGet));
+
+    Mockito
+        .verify(transactionManager)
+        .getTransaction(ArgumentMatchers.argThat(definition -> definition.isReadOnly()
+            && definition.getPropagationBehavior()
+            == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+  }
+
+  @Test
+  public void load_whenOutsideTransaction_expectOwnLoad() {
+    singleFlight.load("posts", 1L, loads::incrementAndGet);
+
+    Assertions
+        .assertThat(singleFlight.getLoads())
+        .isZero();
+    Mockito.verifyNoInteractions(transactionManager);
+  }
+
+  @Test
+  public void load_whenInWriteTransaction_expectOwnLoad() {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      singleFlight.load("posts", 1L, loads::incrementAndGet);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    Assertions
+        .assertThat(singleFlight.getLoads())
+        .isZero();
+  }
+
+  @Test
+  public void load_whenRecentWriter_expectOwnLoad() {
+    SecurityManager.setUser(
+        new IdentifiedUserDetails(1L, "user", "password", Collections.emptySet()));
+    recentWriters.markAfterCommit(1L);
+
+    inReadOnlyTransaction(() -> singleFlight.load("posts", 1L, loads::incrementAndGet));
+
+    Assertions
+        .assertThat(singleFlight.getLoads())
+        .isZero();
+  }
+
+  /**
+   * Runs a leader and a follower on the same key and returns the result
+   * or exception of each.
+   */
+  private Object[] concurrently(Supplier<Object> loader) throws InterruptedException {
+    Object[] results = new Object[2];
+    Thread leader = start(() -> {
+      results[0] = call(loader);
+    });
+    awaitLoads(1);
+    Thread follower = start(() -> {
+      results[1] = call(loader);
+    });
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (follower.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+    release.countDown();
+    leader.join();
+    follower.join();
+    return results;
+  }
+
+  private Object call(Supplier<Object> loader) {
+    try {
+      return inReadOnlyTransaction(() -> singleFlight.load("posts", 1L, loader));
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  private static <T> T inReadOnlyTransaction(Supplier<T> action) {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    try {
+      return action.get();
+    } finally {
+      TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+  }
+
+  private void awaitLoads(int count) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (loads.get() < count && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+  }
+
+  private static Thread start(Runnable action) {
+    Thread thread = new Thread(action);
+    thread.start();
+    return thread;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
@@ -71,7 +71,7 @@ public class AccountControllerTest {
   @Test
   public void get() throws JSONException {
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(ModelFactory
             .createModel(UserType.JOHN_SMITH));
     SecurityManager.setUser(new IdentifiedUserDetails(
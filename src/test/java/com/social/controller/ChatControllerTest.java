@@ -81,7 +81,7 @@ public class ChatControllerTest {
     User member = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(member);
     Mockito
         .when(chatService.findAll(member, PageRequest.of(0, 20, Sort.unsorted())))
@@ -89,7 +89,8 @@ public class ChatControllerTest {
             Lists.newArrayList(ModelFactory
                 .createModelMutating(GroupChatType.CLASSMATES,
                     ChatMutators.owner(member),
-                    ChatMutators.members(member)))
+                    ChatMutators.members(member),
+                    ChatMutators.memberCount(1)))
         ));
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
@@ -132,14 +133,15 @@ public class ChatControllerTest {
     User member = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(member);
     Mockito
         .when(chatService.find(1L, member))
         .thenReturn(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
                 ChatMutators.owner(member),
-                ChatMutators.members(member)));
+                ChatMutators.members(member),
+                ChatMutators.memberCount(1)));
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
 
@@ -178,7 +180,7 @@ public class ChatControllerTest {
     User member = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(member);
     Mockito
         .when(chatService.getMembers(1L, member, PageRequest.of(0, 20, Sort.unsorted())))
@@ -220,7 +222,7 @@ public class ChatControllerTest {
     User member = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(member);
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
@@ -258,16 +260,17 @@ public class ChatControllerTest {
         .createModelMutating(UserType.FRED_BLOGGS,
             UserMutators.publicity(Publicity.PUBLIC));
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(creator);
     Mockito
-        .when(userService.find(2L))
-        .thenReturn(member);
+        .when(userService.findAllByIds(Lists.newArrayList(2L)))
+        .thenReturn(Lists.newArrayList(member));
     Mockito
         .when(chatService.createGroup(creator, "Classmates", Sets.newHashSet(member)))
         .thenReturn(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
                 ChatMutators.members(creator, member),
+                ChatMutators.memberCount(2),
                 ChatMutators.owner(creator)));
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
@@ -327,13 +330,14 @@ public class ChatControllerTest {
     User member = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(member);
     Mockito
         .when(chatService.updateGroup(1L, member, "Classmates"))
         .thenReturn(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
                 ChatMutators.members(member),
+                ChatMutators.memberCount(1),
                 ChatMutators.owner(member)));
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
@@ -375,7 +379,7 @@ public class ChatControllerTest {
     User member = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(member);
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
@@ -395,7 +399,7 @@ public class ChatControllerTest {
     User owner = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(owner);
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
@@ -433,16 +437,17 @@ public class ChatControllerTest {
         .createModelMutating(UserType.FRED_BLOGGS,
             UserMutators.publicity(Publicity.PUBLIC));
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(owner);
     Mockito
-        .when(userService.find(2L))
-        .thenReturn(newMember);
+        .when(userService.findAllByIds(Lists.newArrayList(1L, 2L)))
+        .thenReturn(Lists.newArrayList(owner, newMember));
     Mockito
         .when(chatService.updateGroupMembers(1L, owner, Sets.newHashSet(owner, newMember)))
         .thenReturn(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
                 ChatMutators.members(owner, newMember),
+                ChatMutators.memberCount(2),
                 ChatMutators.owner(owner)));
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
@@ -489,13 +494,14 @@ public class ChatControllerTest {
         .when(userService.find(2L))
         .thenReturn(owner);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(newOwner);
     Mockito
         .when(chatService.changeOwner(1L, owner, newOwner))
         .thenReturn(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
                 ChatMutators.members(owner, newOwner),
+                ChatMutators.memberCount(2),
                 ChatMutators.owner(newOwner)));
     SecurityManager.setUser(new IdentifiedUserDetails(
         2L, "fredbloggs", "password", Collections.emptySet()));
@@ -154,6 +154,93 @@ public class CommentControllerTest {
         ));
   }
 
+  @Test
+  public void getAll_whenCompactView() throws JSONException {
+    User author = ModelFactory
+        .createModel(UserType.JOHN_SMITH);
+    Post post = ModelFactory
+        .createModelMutating(PostType.READING,
+            PostMutators.author(author));
+    Mockito
+        .when(postService.find(1L))
+        .thenReturn(post);
+    Mockito
+        .when(commentService.findAll(post, PageRequest.of(0, 20, Sort.unsorted())))
+        .thenReturn(new PageImpl<>(
+            Lists.newArrayList(ModelFactory
+                .createModelMutating(CommentType.LIKE,
+                    CommentMutators.post(post),
+                    CommentMutators.author(author)))
+        ));
+
+    String response = RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .param("view", "compact")
+        .when()
+        .get("/posts/{postId}/comments", 1)
+        .then()
+        .statusCode(HttpServletResponse.SC_OK)
+        .extract()
+        .asString();
+    JSONObject page = new JSONObject(response);
+
+    String expectedContent = "[{"
+        + "id: 1,"
+        + "createdAt: (customized),"
+        + "updatedAt: null,"
+        + "body: 'Like',"
+        + "author: 1,"
+        + "post: 1"
+        + "}]";
+    JSONAssert
+        .assertEquals(expectedContent, page.getJSONArray("content").toString(),
+            new CustomComparator(JSONCompareMode.NON_EXTENSIBLE,
+                new Customization("[*].createdAt", (act, exp) -> act != null)
+            ));
+
+    String expectedIncluded = "{"
+        + "users: {"
+        + "  1: {"
+        + "    id: 1,"
+        + "    email: null,"
+        + "    username: 'johnsmith',"
+        + "    firstName: 'John',"
+        + "    lastName: 'Smith',"
+        + "    publicity: 10,"
+        + "    moder: false,"
+        + "    admin: false"
+        + "  }"
+        + "},"
+        + "chats: null,"
+        + "posts: {"
+        + "  1: {"
+        + "    id: 1,"
+        + "    createdAt: (customized),"
+        + "    updatedAt: null,"
+        + "    title: 'Favorite books',"
+        + "    body: 'My personal must-read fiction',"
+        + "    comments: 0,"
+        + "    author: {"
+        + "      id: 1,"
+        + "      email: null,"
+        + "      username: 'johnsmith',"
+        + "      firstName: 'John',"
+        + "      lastName: 'Smith',"
+        + "      publicity: 10,"
+        + "      moder: false,"
+        + "      admin: false"
+        + "    }"
+        + "  }"
+        + "}"
+        + "}";
+    JSONAssert
+        .assertEquals(expectedIncluded, page.getJSONObject("included").toString(),
+            new CustomComparator(JSONCompareMode.NON_EXTENSIBLE,
+                new Customization("posts.1.createdAt", (act, exp) -> act != null)
+            ));
+  }
+
   @Test
   public void create_whenInvalidBody_expectException() {
     RestAssuredMockMvc
@@ -180,7 +267,7 @@ public class CommentControllerTest {
         .when(postService.find(1L))
         .thenReturn(post);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     Mockito
         .when(commentService.create(post, author, "Like"))
@@ -267,7 +354,7 @@ public class CommentControllerTest {
         .createModelMutating(PostType.READING,
             PostMutators.author(author));
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     Mockito
         .when(commentService.update(1L, author, "Like"))
@@ -335,7 +422,7 @@ public class CommentControllerTest {
   @Test
   public void delete() {
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(ModelFactory
             .createModel(UserType.JOHN_SMITH));
     SecurityManager.setUser(new IdentifiedUserDetails(
@@ -89,7 +89,7 @@ public class MessageControllerTest {
         .createModelMutating(PrivateChatType.DEFAULT,
             ChatMutators.members(author));
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     Mockito
         .when(chatService.find(1L, author))
@@ -153,6 +153,104 @@ public class MessageControllerTest {
         ));
   }
 
+  @Test
+  public void getAll_whenCompactView() throws JSONException {
+    User author = ModelFactory
+        .createModel(UserType.JOHN_SMITH);
+    Chat chat = ModelFactory
+        .createModelMutating(PrivateChatType.DEFAULT,
+            ChatMutators.members(author));
+    Mockito
+        .when(userService.findPrincipal(1L))
+        .thenReturn(author);
+    Mockito
+        .when(chatService.find(1L, author))
+        .thenReturn(chat);
+    Mockito
+        .when(messageService.findAll(chat, PageRequest.of(0, 20, Sort.unsorted())))
+        .thenReturn(new PageImpl<>(
+            Lists.newArrayList(
+                ModelFactory
+                    .createModelMutating(MessageType.WHATS_UP,
+                        MessageMutators.author(author),
+                        MessageMutators.chat(chat)),
+                ModelFactory
+                    .createModelMutating(MessageType.MEETING,
+                        MessageMutators.author(author),
+                        MessageMutators.chat(chat)))
+        ));
+    SecurityManager.setUser(new IdentifiedUserDetails(
+        1L, "johnsmith", "password", Collections.emptySet()));
+
+    String response = RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .param("view", "compact")
+        .get("/chats/{chatId}/messages", 1)
+        .then()
+        .statusCode(HttpServletResponse.SC_OK)
+        .extract()
+        .asString();
+    JSONObject page = new JSONObject(response);
+
+    String expectedContent = "[{"
+        + "id: 1,"
+        + "createdAt: (customized),"
+        + "updatedAt: null,"
+        + "body: 'How are you?',"
+        + "author: 1,"
+        + "chat: 1"
+        + "},"
+        + "{"
+        + "id: 2,"
+        + "createdAt: (customized),"
+        + "updatedAt: null,"
+        + "body: \"Let's meet\","
+        + "author: 1,"
+        + "chat: 1"
+        + "}]";
+    JSONAssert
+        .assertEquals(expectedContent, page.getJSONArray("content").toString(),
+            new CustomComparator(JSONCompareMode.NON_EXTENSIBLE,
+                new Customization("[*].createdAt", (act, exp) -> act != null)
+            ));
+
+    String expectedIncluded = "{"
+        + "users: {"
+        + "  1: {"
+        + "    id: 1,"
+        + "    email: 'johnsmith@example.com',"
+        + "    username: 'johnsmith',"
+        + "    firstName: 'John',"
+        + "    lastName: 'Smith',"
+        + "    publicity: 10,"
+        + "    moder: false,"
+        + "    admin: false"
+        + "  }"
+        + "},"
+        + "chats: {"
+        + "  1: {"
+        + "    id: 1,"
+        + "    type: 'private',"
+        + "    members: [{"
+        + "      id: 1,"
+        + "      email: 'johnsmith@example.com',"
+        + "      username: 'johnsmith',"
+        + "      firstName: 'John',"
+        + "      lastName: 'Smith',"
+        + "      publicity: 10,"
+        + "      moder: false,"
+        + "      admin: false"
+        + "    }]"
+        + "  }"
+        + "},"
+        + "posts: null"
+        + "}";
+    JSONAssert
+        .assertEquals(expectedIncluded, page.getJSONObject("included").toString(),
+            JSONCompareMode.NON_EXTENSIBLE);
+  }
+
   @Test
   public void create_whenInvalidBody_expectException() {
     RestAssuredMockMvc
@@ -176,7 +274,7 @@ public class MessageControllerTest {
         .createModelMutating(PrivateChatType.DEFAULT,
             ChatMutators.members(author));
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     Mockito
         .when(chatService.find(1L, author))
@@ -261,7 +359,7 @@ public class MessageControllerTest {
         .createModelMutating(PrivateChatType.DEFAULT,
             ChatMutators.members(author));
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     Mockito
         .when(messageService.update(1L, author, "How are you?"))
@@ -326,7 +424,7 @@ public class MessageControllerTest {
     User author = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
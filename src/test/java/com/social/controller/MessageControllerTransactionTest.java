@@ -0,0 +1,184 @@
+package com.social.controller;
+
+import java.util.Collections;
+import javax.servlet.http.HttpServletResponse;
+
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import org.assertj.core.api.Assertions;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import com.social.common.IdentifiedUserDetails;
+import com.social.model.chat.PrivateChat;
+import com.social.model.user.User;
+import com.social.repository.ChatRepository;
+import com.social.repository.ChatRepositoryImpl;
+import com.social.repository.FriendshipRepository;
+import com.social.repository.MessageRepositoryImpl;
+import com.social.repository.spring.ChatRepositoryPrivateSpring;
+import com.social.repository.spring.MessageRepositorySpring;
+import com.social.repository.spring.UserRepositorySpring;
+import com.social.service.ChatService;
+import com.social.service.ChatServiceImpl;
+import com.social.service.MessageServiceImpl;
+import com.social.service.UserService;
+import com.social.test.JpaTestConfig;
+import com.social.test.SecurityManager;
+import com.social.test.model.factory.ModelFactory;
+import com.social.test.model.mutator.ChatMutators;
+import com.social.test.model.mutator.MessageMutators;
+import com.social.test.model.mutator.UserMutators;
+import com.social.test.model.type.MessageType;
+import com.social.test.model.type.PrivateChatType;
+import com.social.test.model.type.UserType;
+
+/**
+ * Writes through real services with open-in-view off, so responses are
+ * mapped only within the transactions the handlers open themselves.
+ */
+@ExtendWith(MockitoExtension.class)
+public class MessageControllerTransactionTest {
+
+  private @Mock UserService userService;
+  private AnnotationConfigApplicationContext appContext;
+  private AnnotationConfigWebApplicationContext webContext;
+  private Long chatId;
+  private Long messageId;
+
+  @BeforeEach
+  public void setUp() {
+    appContext = new AnnotationConfigApplicationContext();
+    appContext.register(JpaTestConfig.class);
+    appContext.registerBean(ChatRepositoryImpl.class);
+    appContext.registerBean(MessageRepositoryImpl.class);
+    appContext.registerBean(MessageServiceImpl.class);
+    appContext.registerBean(ChatService.class, () -> new ChatServiceImpl(
+        appContext.getBean(ChatRepository.class), Mockito.mock(FriendshipRepository.class)));
+    appContext.registerBean(UserService.class, () -> userService);
+    appContext.refresh();
+
+    webContext = new AnnotationConfigWebApplicationContext();
+    webContext.setParent(appContext);
+    webContext.setServletContext(new MockServletContext());
+    webContext.register(TestConfig.class);
+    webContext.register(MessageController.class);
+    webContext.refresh();
+
+    RestAssuredMockMvc.mockMvc(MockMvcBuilders
+        .webAppContextSetup(webContext)
+        .alwaysDo(MockMvcResultHandlers.log())
+        .build());
+
+    UserRepositorySpring userDelegate = appContext.getBean(UserRepositorySpring.class);
+    ChatRepositoryPrivateSpring chatDelegate =
+        appContext.getBean(ChatRepositoryPrivateSpring.class);
+    MessageRepositorySpring messageDelegate = appContext.getBean(MessageRepositorySpring.class);
+    Long johnId = appContext.getBean(TransactionTemplate.class).execute(status -> {
+      User john = userDelegate.save(ModelFactory
+          .createModelMutating(UserType.JOHN_SMITH,
+              UserMutators.id(null)));
+      User fred = userDelegate.save(ModelFactory
+          .createModelMutating(UserType.FRED_BLOGGS,
+              UserMutators.id(null)));
+      PrivateChat chat = chatDelegate.save(ModelFactory
+          .createModelMutating(PrivateChatType.DEFAULT,
+              ChatMutators.id(null),
+              ChatMutators.members(john, fred))
+          .setMemberPair(john, fred));
+      chatId = chat.getId();
+      messageId = messageDelegate.save(ModelFactory
+          .createModelMutating(MessageType.WHATS_UP,
+              MessageMutators.id(null),
+              MessageMutators.author(john),
+              MessageMutators.chat(chat)))
+          .getId();
+      return john.getId();
+    });
+
+    Mockito
+        .when(userService.findPrincipal(johnId))
+        .thenAnswer(invocation -> userDelegate.findById(johnId)
+            .orElseThrow(AssertionError::new));
+    SecurityManager.setUser(new IdentifiedUserDetails(
+        johnId, "johnsmith", "password", Collections.emptySet()));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    SecurityManager.clearContext();
+    webContext.close();
+    appContext.close();
+  }
+
+  @Test
+  public void create_whenOpenInViewOff_expectChatMembers() throws JSONException {
+    String response = RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .header("Content-Type", "application/json")
+        .body("{ \"body\": \"How are you?\" }")
+        .when()
+        .post("/chats/{chatId}/messages", chatId)
+        .then()
+        .statusCode(HttpServletResponse.SC_OK)
+        .extract()
+        .asString();
+
+    Assertions
+        .assertThat(new JSONObject(response)
+            .getJSONObject("chat")
+            .getJSONArray("members")
+            .length())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void update_whenOpenInViewOff_expectChatMembers() throws JSONException {
+    String response = RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .header("Content-Type", "application/json")
+        .body("{ \"body\": \"Fine\" }")
+        .when()
+        .patch("/chats/{chatId}/messages/{id}", chatId, messageId)
+        .then()
+        .statusCode(HttpServletResponse.SC_OK)
+        .extract()
+        .asString();
+    JSONObject message = new JSONObject(response);
+
+    Assertions
+        .assertThat(message.getString("body"))
+        .isEqualTo("Fine");
+    Assertions
+        .assertThat(message
+            .getJSONObject("chat")
+            .getJSONArray("members")
+            .length())
+        .isEqualTo(2);
+  }
+
+
+  @EnableWebMvc
+  @EnableSpringDataWebSupport
+  @EnableTransactionManagement
+  private static class TestConfig {
+  }
+
+}
@@ -1,5 +1,6 @@
 package com.social.controller;
 
+import java.time.Instant;
 import java.util.Collections;
 import javax.servlet.http.HttpServletResponse;
 
@@ -22,16 +23,21 @@ import org.skyscreamer.jsonassert.comparator.CustomComparator;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.mock.web.MockServletContext;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 import com.social.common.IdentifiedUserDetails;
+import com.social.dto.page.Cursor;
+import com.social.dto.page.CursorPage;
+import com.social.dto.page.CursorRequest;
 import com.social.model.user.User;
 import com.social.service.PostService;
 import com.social.service.UserService;
@@ -124,6 +130,102 @@ public class PostControllerTest {
         ));
   }
 
+  @Test
+  public void getAll_whenNoCount_expectSlice() throws JSONException {
+    User author = ModelFactory
+        .createModel(UserType.JOHN_SMITH);
+    Mockito
+        .when(postService.findSlice(PageRequest.of(0, 20, Sort.unsorted())))
+        .thenReturn(new SliceImpl<>(
+            Lists.newArrayList(ModelFactory
+                .createModelMutating(PostType.READING,
+                    PostMutators.author(author))),
+            PageRequest.of(0, 20),
+            true
+        ));
+
+    String response = RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .param("count", false)
+        .when()
+        .get("/posts")
+        .then()
+        .statusCode(HttpServletResponse.SC_OK)
+        .extract()
+        .asString();
+    JSONObject actual = new JSONObject(response);
+
+    Assertions
+        .assertThat(actual.getJSONArray("content").length())
+        .isEqualTo(1);
+    Assertions
+        .assertThat(actual.getBoolean("last"))
+        .isFalse();
+    Assertions
+        .assertThat(actual.has("totalElements"))
+        .isFalse();
+  }
+
+  @Test
+  public void getAll_whenCursor_expectCursorPage() throws JSONException {
+    User author = ModelFactory
+        .createModel(UserType.JOHN_SMITH);
+    Cursor after = new Cursor(Instant.ofEpochSecond(1_500_000_000L), 3L);
+    Cursor next = new Cursor(Instant.ofEpochSecond(1_400_000_000L), 1L);
+    Mockito
+        .when(postService.findAll(Mockito.<CursorRequest>argThat(r -> after.equals(r.getAfter())
+            && r.getBefore() == null
+            && r.getSize() == 1)))
+        .thenReturn(new CursorPage<>(
+            Lists.newArrayList(ModelFactory
+                .createModelMutating(PostType.READING,
+                    PostMutators.author(author))),
+            next,
+            after
+        ));
+
+    String response = RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .param("paging", "cursor")
+        .param("after", after.toString())
+        .param("size", 1)
+        .when()
+        .get("/posts")
+        .then()
+        .statusCode(HttpServletResponse.SC_OK)
+        .extract()
+        .asString();
+    JSONObject actual = new JSONObject(response);
+
+    Assertions
+        .assertThat(actual.getJSONArray("content").length())
+        .isEqualTo(1);
+    Assertions
+        .assertThat(actual.getString("next"))
+        .isEqualTo(next.toString());
+    Assertions
+        .assertThat(actual.getString("prev"))
+        .isEqualTo(after.toString());
+  }
+
+  @Test
+  public void getAll_whenMalformedCursor_expectException() {
+    RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .param("paging", "cursor")
+        .param("after", "not a cursor")
+        .when()
+        .get("/posts")
+        .then()
+        .statusCode(HttpServletResponse.SC_BAD_REQUEST)
+        .expect(result -> Assertions
+            .assertThat(result.getResolvedException())
+            .isExactlyInstanceOf(BindException.class));
+  }
+
   @Test
   public void create_whenInvalidBody_expectException() {
     RestAssuredMockMvc
@@ -144,7 +246,7 @@ public class PostControllerTest {
     User author = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     Mockito
         .when(postService.create(
@@ -240,6 +342,40 @@ public class PostControllerTest {
         ));
   }
 
+  @Test
+  public void get_whenVersionNotModified_expectNoLoad() {
+    Mockito
+        .when(postService.findVersion(1L))
+        .thenReturn("0.0.0");
+    Mockito
+        .when(postService.find(1L))
+        .thenReturn(ModelFactory
+            .createModelMutating(PostType.READING,
+                PostMutators.author(ModelFactory.createModel(UserType.JOHN_SMITH))));
+    String etag = RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .when()
+        .get("/posts/{id}", 1)
+        .then()
+        .statusCode(HttpServletResponse.SC_OK)
+        .extract()
+        .header("ETag");
+
+    RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .header("If-None-Match", etag)
+        .when()
+        .get("/posts/{id}", 1)
+        .then()
+        .statusCode(HttpServletResponse.SC_NOT_MODIFIED);
+
+    Mockito
+        .verify(postService, Mockito.times(1))
+        .find(1L);
+  }
+
   @Test
   public void update_whenInvalidBody_expectException() {
     RestAssuredMockMvc
@@ -260,7 +396,7 @@ public class PostControllerTest {
     User author = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     Mockito
         .when(postService.update(
@@ -320,7 +456,7 @@ public class PostControllerTest {
     User author = ModelFactory
         .createModel(UserType.JOHN_SMITH);
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(author);
     SecurityManager.setUser(new IdentifiedUserDetails(
         1L, "johnsmith", "password", Collections.emptySet()));
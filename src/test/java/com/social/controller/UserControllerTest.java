@@ -111,6 +111,53 @@ public class UserControllerTest {
         .assertEquals(expected, actual, JSONCompareMode.NON_EXTENSIBLE);
   }
 
+  @Test
+  public void getAllByIds() throws JSONException {
+    Mockito
+        .when(userService.findAllByIds(Lists.newArrayList(1L, 2L)))
+        .thenReturn(Lists.newArrayList(
+            ModelFactory
+                .createModel(UserType.JOHN_SMITH),
+            ModelFactory
+                .createModelMutating(UserType.FRED_BLOGGS,
+                    UserMutators.publicity(Publicity.PUBLIC))
+        ));
+
+    String actual = RestAssuredMockMvc
+        .given()
+        .header("Accept", "application/json")
+        .param("ids", "1,2")
+        .when()
+        .get("/users")
+        .then()
+        .statusCode(HttpServletResponse.SC_OK)
+        .extract()
+        .asString();
+
+    String expected = "[{"
+        + "id: 1,"
+        + "email: null,"
+        + "username: 'johnsmith',"
+        + "firstName: 'John',"
+        + "lastName: 'Smith',"
+        + "publicity: 10,"
+        + "moder: false,"
+        + "admin: false"
+        + "},"
+        + "{"
+        + "id: 2,"
+        + "email: 'fredbloggs@example.com',"
+        + "username: 'fredbloggs',"
+        + "firstName: 'Fred',"
+        + "lastName: 'Bloggs',"
+        + "publicity: 30,"
+        + "moder: false,"
+        + "admin: false"
+        + "}]";
+    JSONAssert
+        .assertEquals(expected, actual, JSONCompareMode.NON_EXTENSIBLE);
+  }
+
   @Test
   public void get() throws JSONException {
     Mockito
@@ -308,7 +355,7 @@ public class UserControllerTest {
         .createModelMutating(UserType.FRED_BLOGGS,
             UserMutators.publicity(Publicity.PUBLIC));
     Mockito
-        .when(userService.find(1L))
+        .when(userService.findPrincipal(1L))
         .thenReturn(user);
     Mockito
         .when(userService.find(2L))
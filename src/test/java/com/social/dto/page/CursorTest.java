@@ -0,0 +1,38 @@
+package com.social.dto.page;
+
+import java.time.Instant;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CursorTest {
+
+  @Test
+  public void valueOf_whenToString_expectSameCursor() {
+    Cursor cursor = new Cursor(Instant.ofEpochSecond(1_500_000_000L, 123_456_789L), 42L);
+
+    Assertions
+        .assertThat(Cursor.valueOf(cursor.toString()))
+        .isEqualTo(cursor);
+  }
+
+  @Test
+  public void valueOf_whenNoKey_expectIdOnly() {
+    Cursor cursor = Cursor.valueOf(new Cursor(null, 7L).toString());
+
+    Assertions
+        .assertThat(cursor.getKey())
+        .isNull();
+    Assertions
+        .assertThat(cursor.getId())
+        .isEqualTo(7L);
+  }
+
+  @Test
+  public void valueOf_whenMalformed_expectException() {
+    Assertions
+        .assertThatThrownBy(() -> Cursor.valueOf("bm90IGEgY3Vyc29y"))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+}
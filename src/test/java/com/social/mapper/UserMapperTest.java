@@ -290,4 +290,36 @@ public class UserMapperTest {
             .setAdmin(false));
   }
 
+  @Test
+  public void givenPrivatePublicity_whenAuthenticationReplaced_thenResolvedAgain() {
+    User user = new User()
+        .setId(1L)
+        .setEmail("johnsmith@example.com")
+        .setUsername("johnsmith")
+        .setFirstName("John")
+        .setLastName("Smith")
+        .setPublicity(Publicity.PRIVATE)
+        .setPassword("{encoded}password");
+
+    SecurityManager.setUser(new IdentifiedUserDetails(
+        1L,
+        "owner",
+        "password",
+        Collections.emptySet()
+    ));
+    Assertions
+        .assertThat(UserMapper.INSTANCE.toDto(user).getEmail())
+        .isEqualTo("johnsmith@example.com");
+
+    SecurityManager.setUser(new IdentifiedUserDetails(
+        2L,
+        "notOwnerNorAdministration",
+        "password",
+        Collections.emptySet()
+    ));
+    Assertions
+        .assertThat(UserMapper.INSTANCE.toDto(user).getEmail())
+        .isNull();
+  }
+
 }
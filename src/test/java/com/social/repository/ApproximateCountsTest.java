@@ -0,0 +1,71 @@
+package com.social.repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ApproximateCountsTest {
+
+  private final AtomicInteger counted = new AtomicInteger();
+  private ApproximateCounts approximateCounts;
+  private long rows;
+
+  @BeforeEach
+  public void setUp() {
+    approximateCounts = new ApproximateCounts(null, 0.1, false);
+    rows = 100;
+  }
+
+  @Test
+  public void estimate_whenCalledAgain_expectNoCount() {
+    Assertions
+        .assertThat(approximateCounts.estimate(ApproximateCounts.USERS, exactCount()))
+        .isEqualTo(100);
+    Assertions
+        .assertThat(approximateCounts.estimate(ApproximateCounts.USERS, exactCount()))
+        .isEqualTo(100);
+    Assertions
+        .assertThat(counted)
+        .hasValue(1);
+  }
+
+  @Test
+  public void estimate_whenAdjustedWithinBound_expectAdjustedEstimate() {
+    approximateCounts.estimate(ApproximateCounts.USERS, exactCount());
+    approximateCounts.adjust(ApproximateCounts.USERS, 1);
+    approximateCounts.adjust(ApproximateCounts.USERS, -1);
+    approximateCounts.adjust(ApproximateCounts.USERS, 1);
+
+    Assertions
+        .assertThat(approximateCounts.estimate(ApproximateCounts.USERS, exactCount()))
+        .isEqualTo(101);
+    Assertions
+        .assertThat(counted)
+        .hasValue(1);
+  }
+
+  @Test
+  public void estimate_whenDriftExceedsBound_expectCount() {
+    approximateCounts.estimate(ApproximateCounts.USERS, exactCount());
+    rows = 120;
+    approximateCounts.adjust(ApproximateCounts.USERS, 11);
+
+    Assertions
+        .assertThat(approximateCounts.estimate(ApproximateCounts.USERS, exactCount()))
+        .isEqualTo(120);
+    Assertions
+        .assertThat(counted)
+        .hasValue(2);
+  }
+
+  private LongSupplier exactCount() {
+    return () -> {
+      counted.incrementAndGet();
+      return rows;
+    };
+  }
+
+}
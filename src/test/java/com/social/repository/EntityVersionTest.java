@@ -0,0 +1,169 @@
+package com.social.repository;
+
+import java.util.function.Supplier;
+import javax.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.social.common.EntityTags;
+import com.social.model.chat.Chat;
+import com.social.model.chat.GroupChat;
+import com.social.model.user.User;
+import com.social.repository.spring.ChatRepositoryBaseSpring;
+import com.social.repository.spring.ChatRepositoryGroupSpring;
+import com.social.repository.spring.ChatRepositoryPrivateSpring;
+import com.social.repository.spring.PostRepositorySpring;
+import com.social.repository.spring.UserRepositorySpring;
+import com.social.test.JpaTestConfig;
+import com.social.test.model.factory.ModelFactory;
+import com.social.test.model.mutator.ChatMutators;
+import com.social.test.model.mutator.PostMutators;
+import com.social.test.model.mutator.UserMutators;
+import com.social.test.model.type.GroupChatType;
+import com.social.test.model.type.PostType;
+import com.social.test.model.type.UserType;
+
+/**
+ * Versions looked up without loading must match versions of loaded
+ * entities, and change with anything their responses show.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = JpaTestConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class EntityVersionTest {
+
+  private @Autowired TransactionTemplate transactionTemplate;
+  private @Autowired EntityManager entityManager;
+  private @Autowired UserRepositorySpring userDelegate;
+  private @Autowired PostRepositorySpring postDelegate;
+  private @Autowired ChatRepositoryBaseSpring<Chat> chatDelegate;
+  private @Autowired ChatRepositoryPrivateSpring privateChatDelegate;
+  private @Autowired ChatRepositoryGroupSpring groupChatDelegate;
+
+  private PostRepository postRepository;
+  private ChatRepository chatRepository;
+  private Long johnId;
+  private Long fredId;
+  private Long readingId;
+  private Long classmatesId;
+
+  @BeforeEach
+  public void setUp() {
+    postRepository = new PostRepositoryImpl(postDelegate,
+        new ApproximateCounts(null, 0.05, false), entityManager);
+    chatRepository = new ChatRepositoryImpl(chatDelegate, privateChatDelegate, groupChatDelegate);
+
+    transactionTemplate.execute(status -> {
+      User john = userDelegate.save(ModelFactory
+          .createModelMutating(UserType.JOHN_SMITH,
+              UserMutators.id(null)));
+      User fred = userDelegate.save(ModelFactory
+          .createModelMutating(UserType.FRED_BLOGGS,
+              UserMutators.id(null)));
+      readingId = postDelegate.save(ModelFactory
+          .createModelMutating(PostType.READING,
+              PostMutators.id(null),
+              PostMutators.author(john)))
+          .getId();
+      GroupChat classmates = chatDelegate.save(ModelFactory
+          .createModelMutating(GroupChatType.CLASSMATES,
+              ChatMutators.id(null),
+              ChatMutators.members(john),
+              ChatMutators.memberCount(1),
+              ChatMutators.owner(john)));
+      johnId = john.getId();
+      fredId = fred.getId();
+      classmatesId = classmates.getId();
+      return null;
+    });
+  }
+
+  @Test
+  public void post_whenPostAuthorOrCommentsChanged_expectChangedVersion() {
+    String initial = assertPostVersion();
+
+    inTransaction(() -> postDelegate.findById(readingId)
+        .map(post -> {
+          post.setTitle("Updated");
+          return post;
+        }));
+    String updated = assertPostVersion();
+    inTransaction(() -> postDelegate.findById(readingId)
+        .map(post -> {
+          postRepository.incrementCommentCount(post);
+          return post;
+        }));
+    String commented = assertPostVersion();
+    renameUser(johnId);
+    String renamed = assertPostVersion();
+
+    Assertions
+        .assertThat(new String[]{initial, updated, commented, renamed})
+        .doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void chat_whenMembersChanged_expectChangedVersion() {
+    String initial = assertChatVersion(johnId);
+
+    inTransaction(() -> groupChatDelegate.findById(classmatesId)
+        .map(chat -> chat.getMembers().add(userDelegate.getOne(fredId))));
+    String joined = assertChatVersion(johnId);
+    renameUser(fredId);
+    String renamed = assertChatVersion(johnId);
+
+    Assertions
+        .assertThat(new String[]{initial, joined, renamed})
+        .doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void chat_whenNotMember_expectEmpty() {
+    Assertions
+        .assertThat(inTransaction(() -> chatRepository
+            .findVersionByIdAndMember(classmatesId, userDelegate.getOne(fredId))))
+        .isEmpty();
+  }
+
+  private String assertPostVersion() {
+    String version = inTransaction(() -> postRepository.findVersion(readingId))
+        .orElseThrow(AssertionError::new);
+    Assertions
+        .assertThat(inTransaction(() -> EntityTags.versionOf(
+            postDelegate.findById(readingId).orElseThrow(AssertionError::new))))
+        .isEqualTo(version);
+    return version;
+  }
+
+  private String assertChatVersion(Long memberId) {
+    String version = inTransaction(() -> chatRepository
+        .findVersionByIdAndMember(classmatesId, userDelegate.getOne(memberId)))
+        .orElseThrow(AssertionError::new);
+    Assertions
+        .assertThat(inTransaction(() -> EntityTags.versionOf(
+            chatDelegate.findById(classmatesId).orElseThrow(AssertionError::new))))
+        .isEqualTo(version);
+    return version;
+  }
+
+  private void renameUser(Long id) {
+    inTransaction(() -> userDelegate.findById(id)
+        .map(user -> {
+          user.setFirstName(user.getFirstName() + "y");
+          return user;
+        }));
+  }
+
+  private <T> T inTransaction(Supplier<T> action) {
+    return transactionTemplate.execute(status -> action.get());
+  }
+
+}
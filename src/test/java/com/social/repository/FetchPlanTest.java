@@ -0,0 +1,265 @@
+package com.social.repository;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.social.dto.page.CursorRequest;
+import com.social.mapper.ChatMapper;
+import com.social.mapper.CommentMapper;
+import com.social.mapper.MessageMapper;
+import com.social.mapper.PostMapper;
+import com.social.mapper.UserMapper;
+import com.social.model.chat.Chat;
+import com.social.model.chat.GroupChat;
+import com.social.model.post.Post;
+import com.social.model.user.Friendship;
+import com.social.model.user.User;
+import com.social.repository.spring.ChatRepositoryBaseSpring;
+import com.social.repository.spring.CommentRepositorySpring;
+import com.social.repository.spring.FriendshipRepositorySpring;
+import com.social.repository.spring.Keyset;
+import com.social.repository.spring.MessageRepositorySpring;
+import com.social.repository.spring.PostRepositorySpring;
+import com.social.repository.spring.UserRepositorySpring;
+import com.social.test.JpaTestConfig;
+import com.social.test.QueryCounter;
+import com.social.test.model.factory.ModelFactory;
+import com.social.test.model.mutator.ChatMutators;
+import com.social.test.model.mutator.CommentMutators;
+import com.social.test.model.mutator.MessageMutators;
+import com.social.test.model.mutator.PostMutators;
+import com.social.test.model.mutator.UserMutators;
+import com.social.test.model.type.CommentType;
+import com.social.test.model.type.GroupChatType;
+import com.social.test.model.type.MessageType;
+import com.social.test.model.type.PostType;
+import com.social.test.model.type.PrivateChatType;
+import com.social.test.model.type.UserType;
+
+/**
+ * Pins statements issued by each list endpoint's query and DTO mapping,
+ * with related rows spread over several users to expose N+1 loads.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = JpaTestConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class FetchPlanTest {
+
+  private static final PageRequest PAGE = PageRequest.of(0, 10);
+
+  private @Autowired TransactionTemplate transactionTemplate;
+  private @Autowired UserRepositorySpring userRepository;
+  private @Autowired PostRepositorySpring postRepository;
+  private @Autowired CommentRepositorySpring commentRepository;
+  private @Autowired ChatRepositoryBaseSpring<Chat> chatRepository;
+  private @Autowired MessageRepositorySpring messageRepository;
+  private @Autowired FriendshipRepositorySpring friendshipRepository;
+
+  private Long johnId;
+  private Long readingId;
+  private Long classmatesId;
+
+  @BeforeEach
+  public void setUp() {
+    transactionTemplate.execute(status -> {
+      User john = userRepository.save(ModelFactory
+          .createModelMutating(UserType.JOHN_SMITH,
+              UserMutators.id(null)));
+      User fred = userRepository.save(ModelFactory
+          .createModelMutating(UserType.FRED_BLOGGS,
+              UserMutators.id(null)));
+      User jane = userRepository.save(ModelFactory
+          .createModelMutating(UserType.RAW,
+              UserMutators.email("janedoe@example.com"),
+              UserMutators.username("janedoe"),
+              UserMutators.firstName("Jane"),
+              UserMutators.lastName("Doe"),
+              UserMutators.password("{encoded}password")));
+
+      Post reading = postRepository.save(ModelFactory
+          .createModelMutating(PostType.READING,
+              PostMutators.id(null),
+              PostMutators.author(john)));
+      postRepository.save(ModelFactory
+          .createModelMutating(PostType.COOKING,
+              PostMutators.id(null),
+              PostMutators.author(fred)));
+      postRepository.save(ModelFactory
+          .createModelMutating(PostType.COOKING,
+              PostMutators.id(null),
+              PostMutators.author(jane)));
+      for (User author : new User[]{fred, jane}) {
+        commentRepository.save(ModelFactory
+            .createModelMutating(CommentType.LIKE,
+                CommentMutators.id(null),
+                CommentMutators.author(author),
+                CommentMutators.post(reading)));
+      }
+
+      GroupChat classmates = chatRepository.save(ModelFactory
+          .createModelMutating(GroupChatType.CLASSMATES,
+              ChatMutators.id(null),
+              ChatMutators.members(john, fred, jane),
+              ChatMutators.memberCount(3),
+              ChatMutators.owner(fred)));
+      chatRepository.save(ModelFactory
+          .createModelMutating(GroupChatType.SCIENTISTS,
+              ChatMutators.id(null),
+              ChatMutators.members(john, jane),
+              ChatMutators.memberCount(2),
+              ChatMutators.owner(jane)));
+      chatRepository.save(ModelFactory
+          .createModelMutating(PrivateChatType.DEFAULT,
+              ChatMutators.id(null),
+              ChatMutators.members(john, fred))
+          .setMemberPair(john, fred));
+      for (User author : new User[]{fred, jane}) {
+        messageRepository.save(ModelFactory
+            .createModelMutating(MessageType.WHATS_UP,
+                MessageMutators.id(null),
+                MessageMutators.author(author),
+                MessageMutators.chat(classmates)));
+      }
+
+      for (User friend : new User[]{fred, jane}) {
+        Friendship friendship = new Friendship();
+        friendship.setLowId(john.getId());
+        friendship.setHighId(friend.getId());
+        friendshipRepository.save(friendship);
+      }
+
+      johnId = john.getId();
+      readingId = reading.getId();
+      classmatesId = classmates.getId();
+      return null;
+    });
+  }
+
+  @Test
+  public void posts() {
+    assertStatements(1, () -> postRepository.findAll(PAGE)
+        .map(PostMapper.INSTANCE::toDto)
+        .getContent());
+    assertStatements(1, () -> postRepository.findSlice(PAGE)
+        .map(PostMapper.INSTANCE::toDto)
+        .getContent());
+    assertStatements(1, () -> postRepository
+        .findAll(null, Keyset.NEWEST_FIRST, new CursorRequest())
+        .map(PostMapper.INSTANCE::toDto)
+        .getContent());
+  }
+
+  @Test
+  public void users() {
+    assertStatements(1, () -> userRepository.findAll(PAGE)
+        .map(UserMapper.INSTANCE::toDto)
+        .getContent());
+    assertStatements(1, () -> userRepository.findSlice(PAGE)
+        .map(UserMapper.INSTANCE::toDto)
+        .getContent());
+    assertStatements(1, () -> userRepository
+        .findAll(null, Keyset.BY_ID, new CursorRequest())
+        .map(UserMapper.INSTANCE::toDto)
+        .getContent());
+  }
+
+  @Test
+  public void friends() {
+    assertStatements(1, () -> userRepository.findAllFriends(johnId, PAGE)
+        .map(UserMapper.INSTANCE::toDto)
+        .getContent());
+  }
+
+  @Test
+  public void comments() {
+    assertStatements(1,
+        () -> postRepository.findById(readingId).orElseThrow(AssertionError::new),
+        post -> commentRepository.findAllByPost(post, PAGE)
+            .map(CommentMapper.INSTANCE::toDto)
+            .getContent());
+    assertStatements(1,
+        () -> postRepository.findById(readingId).orElseThrow(AssertionError::new),
+        post -> commentRepository.findSliceByPost(post, PAGE)
+            .map(CommentMapper.INSTANCE::toDto)
+            .getContent());
+  }
+
+  @Test
+  public void messages() {
+    assertStatements(1,
+        () -> chatRepository.findById(classmatesId).orElseThrow(AssertionError::new),
+        chat -> messageRepository.findAllByChat(chat, PAGE)
+            .map(MessageMapper.INSTANCE::toDto)
+            .getContent());
+    assertStatements(1,
+        () -> chatRepository.findById(classmatesId).orElseThrow(AssertionError::new),
+        chat -> messageRepository.findSliceByChat(chat, PAGE)
+            .map(MessageMapper.INSTANCE::toDto)
+            .getContent());
+    assertStatements(1,
+        () -> chatRepository.findById(classmatesId).orElseThrow(AssertionError::new),
+        chat -> new MessageRepositoryImpl(messageRepository)
+            .findAllByChat(chat, new CursorRequest())
+            .map(MessageMapper.INSTANCE::toDto)
+            .getContent());
+  }
+
+  /**
+   * Chats, then owners of group chats in one batch, then members of the
+   * page's chats in one batch.
+   */
+  @Test
+  public void chats() {
+    assertStatements(3,
+        () -> userRepository.findById(johnId).orElseThrow(AssertionError::new),
+        member -> chatRepository.findSliceByMembersContaining(member, PAGE)
+            .map(ChatMapper.INSTANCE::toDto)
+            .getContent());
+  }
+
+  @Test
+  public void chatMembers() {
+    assertStatements(1,
+        () -> chatRepository.findById(classmatesId).orElseThrow(AssertionError::new),
+        chat -> chatRepository.findMembers(chat, PAGE)
+            .map(UserMapper.INSTANCE::toDto)
+            .getContent());
+  }
+
+  private void assertStatements(int expected, Supplier<List<?>> listing) {
+    assertStatements(expected, () -> null, given -> listing.get());
+  }
+
+  /**
+   * Counts statements of {@code listing} only; {@code given} loads its
+   * arguments beforehand in the same transaction, as services do.
+   */
+  private <T> void assertStatements(int expected, Supplier<T> given,
+                                    Function<T, List<?>> listing) {
+    transactionTemplate.execute(status -> {
+      T argument = given.get();
+      int statements = QueryCounter.count(() -> Assertions
+          .assertThat(listing.apply(argument))
+          .isNotEmpty());
+
+      Assertions
+          .assertThat(statements)
+          .as("Statements issued by listing")
+          .isEqualTo(expected);
+      return null;
+    });
+  }
+
+}
@@ -0,0 +1,73 @@
+package com.social.repository;
+
+import java.util.Collections;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.social.repository.spring.UserRepositorySpring;
+import com.social.test.model.factory.ModelFactory;
+import com.social.test.model.type.UserType;
+
+@ExtendWith(MockitoExtension.class)
+public class TakenLoginsFilterTest {
+
+  private @Mock UserRepositorySpring delegate;
+  private TakenLoginsFilter filter;
+
+  @BeforeEach
+  public void setUp() {
+    filter = new TakenLoginsFilter(delegate, 0.01);
+  }
+
+  @Test
+  public void existsEmail_whenNotWarmedUp_expectQuery() {
+    Assertions
+        .assertThat(filter.existsEmail("johnsmith@example.com", () -> true))
+        .isTrue();
+    Assertions
+        .assertThat(filter.getUnavailable())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void existsEmail_whenDefinitelyAbsent_expectNoQuery() {
+    warmUpEmpty();
+
+    Assertions
+        .assertThat(filter.existsEmail("johnsmith@example.com", () -> {
+          throw new AssertionError("Query must be skipped");
+        }))
+        .isFalse();
+    Assertions
+        .assertThat(filter.getSkipped())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void existsUsername_whenSaved_expectQuery() {
+    warmUpEmpty();
+    filter.put(ModelFactory.createModel(UserType.JOHN_SMITH));
+    String username = ModelFactory.createModel(UserType.JOHN_SMITH).getUsername();
+
+    Assertions
+        .assertThat(filter.existsUsername(username, () -> true))
+        .isTrue();
+    Assertions
+        .assertThat(filter.getProbableHits())
+        .isEqualTo(1);
+  }
+
+  private void warmUpEmpty() {
+    Mockito
+        .when(delegate.findAllLoginsAfter(Mockito.anyLong(), Mockito.any()))
+        .thenReturn(Collections.emptyList());
+    filter.warmUp();
+  }
+
+}
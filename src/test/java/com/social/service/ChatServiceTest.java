@@ -13,6 +13,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -24,6 +25,7 @@ import com.social.model.chat.PrivateChat;
 import com.social.model.user.Publicity;
 import com.social.model.user.User;
 import com.social.repository.ChatRepository;
+import com.social.repository.FriendshipRepository;
 import com.social.test.comparator.ComparatorFactory;
 import com.social.test.model.factory.ModelFactory;
 import com.social.test.model.mutator.ChatMutators;
@@ -36,11 +38,12 @@ import com.social.test.model.type.UserType;
 public class ChatServiceTest {
 
   private @Mock ChatRepository chatRepository;
+  private @Mock FriendshipRepository friendshipRepository;
   private ChatService chatService;
 
   @BeforeEach
   public void setUp() {
-    chatService = new ChatServiceImpl(chatRepository);
+    chatService = new ChatServiceImpl(chatRepository, friendshipRepository);
   }
 
   @Test
@@ -61,6 +64,25 @@ public class ChatServiceTest {
         .hasFieldOrPropertyWithValue("getArguments", new Object[]{2L});
   }
 
+  @Test
+  public void createPrivate_whenConcurrentlyCreated_expectException() {
+    User johnSmith = ModelFactory
+        .createModel(UserType.JOHN_SMITH);
+    User fredBloggs = ModelFactory
+        .createModelMutating(UserType.FRED_BLOGGS,
+            UserMutators.publicity(Publicity.PUBLIC));
+    Mockito
+        .when(chatRepository.save(Mockito.any(PrivateChat.class)))
+        .thenThrow(new DataIntegrityViolationException(Chat.PRIVATE_PAIR_KEY));
+
+    Assertions
+        .assertThatThrownBy(() -> chatService.createPrivate(johnSmith, fredBloggs))
+        .isExactlyInstanceOf(IllegalActionException.class)
+        .hasFieldOrPropertyWithValue("getCodes",
+            new Object[]{"illegalAction.chat.private.alreadyExist"})
+        .hasFieldOrPropertyWithValue("getArguments", new Object[]{2L});
+  }
+
   @Test
   public void createPrivate_whenTargetIsNotPublicNorFriend_expectException() {
     User johnSmith = ModelFactory
@@ -83,9 +105,10 @@ public class ChatServiceTest {
         .createModel(UserType.JOHN_SMITH);
     User fredBloggs = ModelFactory
         .createModelMutating(UserType.FRED_BLOGGS,
-            UserMutators.publicity(Publicity.INTERNAL),
-            UserMutators.friends(johnSmith));
-    UserMutators.friends(fredBloggs).accept(johnSmith);
+            UserMutators.publicity(Publicity.INTERNAL));
+    Mockito
+        .when(friendshipRepository.exists(2L, 1L))
+        .thenReturn(true);
     Mockito
         .when(chatRepository.save(Mockito.any(PrivateChat.class)))
         .then(i -> {
@@ -100,6 +123,8 @@ public class ChatServiceTest {
         .isEqualTo(ModelFactory
             .createModelMutating(PrivateChatType.RAW,
                 ChatMutators.id(1L),
+                ChatMutators.lowMemberId(1L),
+                ChatMutators.highMemberId(2L),
                 ChatMutators.members(
                     ModelFactory
                         .createModel(UserType.JOHN_SMITH),
@@ -131,6 +156,8 @@ public class ChatServiceTest {
         .isEqualTo(ModelFactory
             .createModelMutating(PrivateChatType.RAW,
                 ChatMutators.id(1L),
+                ChatMutators.lowMemberId(1L),
+                ChatMutators.highMemberId(2L),
                 ChatMutators.members(
                     ModelFactory
                         .createModel(UserType.JOHN_SMITH),
@@ -185,8 +212,42 @@ public class ChatServiceTest {
             chatService.createGroup(owner, "Classmates", ImmutableSet.of(member)))
         .isExactlyInstanceOf(IllegalActionException.class)
         .hasFieldOrPropertyWithValue("getCodes",
-            new Object[]{"illegalAction.chat.group.addNotFriend"})
-        .hasFieldOrPropertyWithValue("getArguments", new Object[]{2L});
+            new Object[]{"illegalAction.chat.group.addNotFriends"})
+        .hasFieldOrPropertyWithValue("getArguments",
+            new Object[]{Lists.newArrayList(2L)});
+  }
+
+  @Test
+  public void createGroup_whenSeveralMembersAreNotPublicNorFriends_expectAllReported() {
+    User owner = ModelFactory
+        .createModel(UserType.JOHN_SMITH);
+    User fredBloggs = ModelFactory
+        .createModelMutating(UserType.FRED_BLOGGS,
+            UserMutators.publicity(Publicity.INTERNAL));
+    User friend = ModelFactory
+        .createModelMutating(UserType.RAW,
+            UserMutators.id(3L),
+            UserMutators.email("friend@mail.com"),
+            UserMutators.username("friend"),
+            UserMutators.publicity(Publicity.INTERNAL));
+    User stranger = ModelFactory
+        .createModelMutating(UserType.RAW,
+            UserMutators.id(4L),
+            UserMutators.email("stranger@mail.com"),
+            UserMutators.username("stranger"),
+            UserMutators.publicity(Publicity.PRIVATE));
+    Mockito
+        .when(friendshipRepository.findFriendIds(1L, ImmutableSet.of(2L, 3L, 4L)))
+        .thenReturn(ImmutableSet.of(3L));
+
+    Assertions
+        .assertThatThrownBy(() -> chatService.createGroup(owner, "Classmates",
+            ImmutableSet.of(fredBloggs, friend, stranger)))
+        .isExactlyInstanceOf(IllegalActionException.class)
+        .hasFieldOrPropertyWithValue("getCodes",
+            new Object[]{"illegalAction.chat.group.addNotFriends"})
+        .hasFieldOrPropertyWithValue("getArguments",
+            new Object[]{Lists.newArrayList(2L, 4L)});
   }
 
   @Test
@@ -195,9 +256,10 @@ public class ChatServiceTest {
         .createModel(UserType.JOHN_SMITH);
     User member = ModelFactory
         .createModelMutating(UserType.FRED_BLOGGS,
-            UserMutators.publicity(Publicity.INTERNAL),
-            UserMutators.friends(owner));
-    UserMutators.friends(member).accept(owner);
+            UserMutators.publicity(Publicity.INTERNAL));
+    Mockito
+        .when(friendshipRepository.findFriendIds(1L, ImmutableSet.of(2L)))
+        .thenReturn(ImmutableSet.of(2L));
     Mockito
         .when(chatRepository.save(Mockito.any(GroupChat.class)))
         .then(i -> {
@@ -213,6 +275,7 @@ public class ChatServiceTest {
             .createModelMutating(GroupChatType.RAW,
                 ChatMutators.id(1L),
                 ChatMutators.name("Classmates"),
+                ChatMutators.memberCount(2),
                 ChatMutators.members(
                     ModelFactory
                         .createModel(UserType.JOHN_SMITH),
@@ -247,6 +310,7 @@ public class ChatServiceTest {
             .createModelMutating(GroupChatType.RAW,
                 ChatMutators.id(1L),
                 ChatMutators.name("Classmates"),
+                ChatMutators.memberCount(2),
                 ChatMutators.members(
                     ModelFactory
                         .createModel(UserType.JOHN_SMITH),
@@ -355,8 +419,9 @@ public class ChatServiceTest {
             chatService.updateGroupMembers(1L, owner, ImmutableSet.of(owner, newMember)))
         .isExactlyInstanceOf(IllegalActionException.class)
         .hasFieldOrPropertyWithValue("getCodes",
-            new Object[]{"illegalAction.chat.group.addNotFriend"})
-        .hasFieldOrPropertyWithValue("getArguments", new Object[]{2L});
+            new Object[]{"illegalAction.chat.group.addNotFriends"})
+        .hasFieldOrPropertyWithValue("getArguments",
+            new Object[]{Lists.newArrayList(2L)});
   }
 
   @Test
@@ -365,9 +430,10 @@ public class ChatServiceTest {
         .createModel(UserType.JOHN_SMITH);
     User newMember = ModelFactory
         .createModelMutating(UserType.FRED_BLOGGS,
-            UserMutators.publicity(Publicity.INTERNAL),
-            UserMutators.friends(owner));
-    UserMutators.friends(newMember).accept(owner);
+            UserMutators.publicity(Publicity.INTERNAL));
+    Mockito
+        .when(friendshipRepository.findFriendIds(1L, ImmutableSet.of(2L)))
+        .thenReturn(ImmutableSet.of(2L));
     Mockito
         .when(chatRepository.findGroupByIdAndOwner(1L, owner))
         .thenReturn(Optional.of(ModelFactory
@@ -384,6 +450,7 @@ public class ChatServiceTest {
         .usingComparator(ComparatorFactory.getComparator(GroupChat.class))
         .isEqualTo(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
+                ChatMutators.memberCount(2),
                 ChatMutators.owner(ModelFactory
                     .createModel(UserType.JOHN_SMITH)),
                 ChatMutators.members(
@@ -419,6 +486,7 @@ public class ChatServiceTest {
         .usingComparator(ComparatorFactory.getComparator(GroupChat.class))
         .isEqualTo(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
+                ChatMutators.memberCount(2),
                 ChatMutators.members(
                     ModelFactory
                         .createModel(UserType.JOHN_SMITH),
@@ -453,6 +521,7 @@ public class ChatServiceTest {
         .usingComparator(ComparatorFactory.getComparator(GroupChat.class))
         .isEqualTo(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
+                ChatMutators.memberCount(1),
                 ChatMutators.members(ModelFactory
                     .createModel(UserType.JOHN_SMITH)),
                 ChatMutators.owner(ModelFactory
@@ -591,6 +660,7 @@ public class ChatServiceTest {
         .usingComparator(ComparatorFactory.getComparator(GroupChat.class))
         .isEqualTo(ModelFactory
             .createModelMutating(GroupChatType.CLASSMATES,
+                ChatMutators.memberCount(1),
                 ChatMutators.members(ModelFactory
                     .createModel(UserType.JOHN_SMITH)),
                 ChatMutators.owner(ModelFactory
@@ -648,12 +718,17 @@ public class ChatServiceTest {
         .createModel(UserType.JOHN_SMITH);
     User member = ModelFactory
         .createModel(UserType.FRED_BLOGGS);
+    GroupChat entity = ModelFactory
+        .createModelMutating(GroupChatType.CLASSMATES,
+            ChatMutators.members(owner, member),
+            ChatMutators.owner(owner));
     Mockito
         .when(chatRepository.findByIdAndMember(1L, owner))
-        .thenReturn(Optional.of(ModelFactory
-            .createModelMutating(GroupChatType.CLASSMATES,
-                ChatMutators.members(owner, member),
-                ChatMutators.owner(owner))
+        .thenReturn(Optional.of(entity));
+    Mockito
+        .when(chatRepository.findMembers(entity, Pageable.unpaged()))
+        .thenReturn(new PageImpl<>(
+            Lists.newArrayList(owner, member)
         ));
 
     Assertions
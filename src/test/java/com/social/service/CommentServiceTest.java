@@ -10,9 +10,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.social.common.RecentWriters;
+import com.social.common.SingleFlight;
 import com.social.exception.IllegalActionException;
 import com.social.exception.NotFoundException;
 import com.social.model.post.Comment;
@@ -20,6 +24,8 @@ import com.social.model.post.Post;
 import com.social.model.user.Publicity;
 import com.social.model.user.User;
 import com.social.repository.CommentRepository;
+import com.social.repository.FriendshipRepository;
+import com.social.repository.PostRepository;
 import com.social.test.comparator.ComparatorFactory;
 import com.social.test.comparator.NotNullComparator;
 import com.social.test.model.factory.ModelFactory;
@@ -34,11 +40,17 @@ import com.social.test.model.type.UserType;
 public class CommentServiceTest {
 
   private @Mock CommentRepository commentRepository;
+  private @Mock PostRepository postRepository;
+  private @Mock FriendshipRepository friendshipRepository;
+  private @Mock ApplicationEventPublisher eventPublisher;
+  private @Mock PlatformTransactionManager transactionManager;
   private CommentService commentService;
 
   @BeforeEach
   public void setUp() {
-    commentService = new CommentServiceImpl(commentRepository);
+    commentService = new CommentServiceImpl(commentRepository, postRepository,
+        friendshipRepository, eventPublisher,
+        new SingleFlight(new RecentWriters(5_000, 100), transactionManager, 2_000));
   }
 
   @Test
@@ -118,9 +130,10 @@ public class CommentServiceTest {
         .createModelMutating(UserType.JOHN_SMITH,
             UserMutators.publicity(Publicity.INTERNAL));
     User author = ModelFactory
-        .createModelMutating(UserType.FRED_BLOGGS,
-            UserMutators.friends(postAuthor));
-    UserMutators.friends(author).accept(postAuthor);
+        .createModel(UserType.FRED_BLOGGS);
+    Mockito
+        .when(friendshipRepository.exists(1L, 2L))
+        .thenReturn(true);
     Post post = ModelFactory
         .createModelMutating(PostType.READING,
             PostMutators.author(postAuthor));
@@ -186,6 +199,10 @@ public class CommentServiceTest {
                                 UserMutators.publicity(Publicity.PUBLIC)))
                     ))
             ));
+
+    Mockito
+        .verify(postRepository)
+        .incrementCommentCount(post);
   }
 
   @Test
@@ -270,6 +287,9 @@ public class CommentServiceTest {
     Mockito
         .verify(commentRepository)
         .delete(entity);
+    Mockito
+        .verify(postRepository)
+        .decrementCommentCount(post);
   }
 
   @Test
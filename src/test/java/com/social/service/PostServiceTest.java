@@ -10,9 +10,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.social.common.RecentWriters;
+import com.social.common.SingleFlight;
+import com.social.event.PostChangedEvent;
 import com.social.exception.NotFoundException;
 import com.social.model.post.Post;
 import com.social.model.user.User;
@@ -28,11 +33,14 @@ import com.social.test.model.type.UserType;
 public class PostServiceTest {
 
   private @Mock PostRepository postRepository;
+  private @Mock ApplicationEventPublisher eventPublisher;
+  private @Mock PlatformTransactionManager transactionManager;
   private PostService postService;
 
   @BeforeEach
   public void setUp() {
-    postService = new PostServiceImpl(postRepository);
+    postService = new PostServiceImpl(postRepository, eventPublisher,
+        new SingleFlight(new RecentWriters(5_000, 100), transactionManager, 2_000));
   }
 
   @Test
@@ -132,6 +140,9 @@ public class PostServiceTest {
     Mockito
         .verify(postRepository)
         .delete(entity);
+    Mockito
+        .verify(eventPublisher)
+        .publishEvent(Mockito.argThat((PostChangedEvent e) -> e.getPostId().equals(1L)));
   }
 
   @Test
@@ -0,0 +1,167 @@
+package com.social.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.social.common.RecentWriters;
+import com.social.common.SingleFlight;
+import com.social.model.post.Post;
+import com.social.model.user.User;
+import com.social.repository.ApproximateCounts;
+import com.social.repository.PostRepository;
+import com.social.repository.PostRepositoryImpl;
+import com.social.repository.spring.PostRepositorySpring;
+import com.social.repository.spring.UserRepositorySpring;
+import com.social.test.JpaTestConfig;
+import com.social.test.model.factory.ModelFactory;
+import com.social.test.model.mutator.PostMutators;
+import com.social.test.model.mutator.UserMutators;
+import com.social.test.model.type.PostType;
+import com.social.test.model.type.UserType;
+
+/**
+ * Concurrent lookups in read-only transactions, as opened by GET
+ * handlers, must share one load of detached entities. The leader blocks
+ * in the repository until a follower is seen waiting.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = JpaTestConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SingleFlightServiceTest {
+
+  private @Autowired PlatformTransactionManager transactionManager;
+  private @Autowired TransactionTemplate transactionTemplate;
+  private @Autowired EntityManager entityManager;
+  private @Autowired UserRepositorySpring userDelegate;
+  private @Autowired PostRepositorySpring postDelegate;
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private TransactionTemplate readOnlyTemplate;
+  private SingleFlight singleFlight;
+  private PostService postService;
+  private Long postId;
+
+  @BeforeEach
+  public void setUp() {
+    readOnlyTemplate = new TransactionTemplate(transactionManager);
+    readOnlyTemplate.setReadOnly(true);
+    singleFlight = new SingleFlight(new RecentWriters(5_000, 100), transactionManager, 5_000);
+
+    PostRepository postRepository = Mockito.spy(new PostRepositoryImpl(postDelegate,
+        new ApproximateCounts(null, 0.05, false), entityManager));
+    Mockito
+        .doAnswer(invocation -> {
+          loads.incrementAndGet();
+          await(release);
+          return invocation.callRealMethod();
+        })
+        .when(postRepository)
+        .findById(Mockito.anyLong());
+    postService = new PostServiceImpl(postRepository, event -> { }, singleFlight);
+
+    transactionTemplate.execute(status -> {
+      User author = userDelegate.save(ModelFactory
+          .createModelMutating(UserType.JOHN_SMITH,
+              UserMutators.id(null)));
+      postId = postDelegate.save(ModelFactory
+          .createModelMutating(PostType.READING,
+              PostMutators.id(null),
+              PostMutators.author(author)))
+          .getId();
+      return null;
+    });
+  }
+
+  @Test
+  public void find_whenReadOnlyTransactionsConcurrent_expectSharedDetachedPost()
+      throws Exception {
+    Post[] results = new Post[2];
+    Thread leader = start(() -> {
+      results[0] = readOnlyTemplate.execute(status -> postService.find(postId));
+    });
+    awaitLoads();
+    Thread follower = start(() -> {
+      results[1] = readOnlyTemplate.execute(status -> postService.find(postId));
+    });
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (follower.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+    release.countDown();
+    leader.join();
+    follower.join();
+
+    Assertions
+        .assertThat(results[1])
+        .isSameAs(results[0]);
+    Assertions
+        .assertThat(loads)
+        .hasValue(1);
+    Assertions
+        .assertThat(singleFlight.getCoalesced())
+        .isEqualTo(1);
+    Assertions
+        .assertThat(Hibernate.isInitialized(results[0].getAuthor()))
+        .isTrue();
+    Assertions
+        .assertThatThrownBy(() -> results[0].getComments().size())
+        .as("Lazy loading through the leader's closed session")
+        .isInstanceOf(LazyInitializationException.class);
+  }
+
+  @Test
+  public void find_whenWriteTransaction_expectOwnLoad() {
+    release.countDown();
+
+    transactionTemplate.execute(status -> postService.find(postId));
+    transactionTemplate.execute(status -> postService.find(postId));
+
+    Assertions
+        .assertThat(loads)
+        .hasValue(2);
+    Assertions
+        .assertThat(singleFlight.getLoads())
+        .isZero();
+  }
+
+  private void awaitLoads() {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (loads.get() < 1 && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+  }
+
+  private static Thread start(Runnable action) {
+    Thread thread = new Thread(action);
+    thread.start();
+    return thread;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
@@ -16,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import com.social.common.IdentifiedUserDetails;
+import com.social.common.UserDetailsCache;
 import com.social.config.SecurityConfig.Authority;
 import com.social.repository.UserRepository;
 import com.social.test.model.factory.ModelFactory;
@@ -30,7 +31,8 @@ public class UserDetailsServiceTest {
 
   @BeforeEach
   public void setUp() {
-    userDetailsService = new UserDetailsServiceImpl(userRepository);
+    userDetailsService = new UserDetailsServiceImpl(
+        userRepository, new UserDetailsCache(30_000, 100));
   }
 
   @Test
@@ -44,7 +46,7 @@ public class UserDetailsServiceTest {
   @Test
   public void loadUserByUsername_whenUserFoundByEmail() {
     Mockito
-        .when(userRepository.findByEmail("johnsmith@example.com"))
+        .when(userRepository.findByEmailOrUsername("johnsmith@example.com"))
         .thenReturn(Optional.of(ModelFactory
             .createModelMutating(UserType.RAW,
                 UserMutators.id(1L),
@@ -66,7 +68,7 @@ public class UserDetailsServiceTest {
   @Test
   public void loadUserByUsername_whenUserFoundByUsername() {
     Mockito
-        .when(userRepository.findByUsername("johnsmith"))
+        .when(userRepository.findByEmailOrUsername("johnsmith"))
         .thenReturn(Optional.of(ModelFactory
             .createModelMutating(UserType.RAW,
                 UserMutators.id(1L),
@@ -89,4 +91,27 @@ public class UserDetailsServiceTest {
         ));
   }
 
+  @Test
+  public void loadUserByUsername_whenLoadedBefore_expectNoLookupAndIntactCopy() {
+    Mockito
+        .when(userRepository.findByEmailOrUsername("johnsmith"))
+        .thenReturn(Optional.of(ModelFactory
+            .createModelMutating(UserType.RAW,
+                UserMutators.id(1L),
+                UserMutators.username("johnsmith"),
+                UserMutators.password("{encoded}password"))
+        ));
+
+    IdentifiedUserDetails first =
+        (IdentifiedUserDetails) userDetailsService.loadUserByUsername("johnsmith");
+    first.eraseCredentials();
+
+    Assertions
+        .assertThat(userDetailsService.loadUserByUsername("johnsmith").getPassword())
+        .isEqualTo("{encoded}password");
+    Mockito
+        .verify(userRepository)
+        .findByEmailOrUsername("johnsmith");
+  }
+
 }
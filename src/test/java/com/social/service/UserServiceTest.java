@@ -1,26 +1,33 @@
 package com.social.service;
 
-import java.util.List;
 import java.util.Optional;
 
+import com.google.common.collect.ImmutableSet;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.social.common.PrincipalCache;
+import com.social.common.RecentWriters;
+import com.social.common.SingleFlight;
+import com.social.common.UserDetailsCache;
 import com.social.exception.IllegalActionException;
 import com.social.exception.NotFoundException;
 import com.social.exception.WrongCredentialsException;
 import com.social.model.user.Publicity;
 import com.social.model.user.User;
+import com.social.repository.FriendshipRepository;
 import com.social.repository.UserRepository;
 import com.social.test.comparator.ComparatorFactory;
 import com.social.test.model.factory.ModelFactory;
@@ -31,12 +38,18 @@ import com.social.test.model.type.UserType;
 public class UserServiceTest {
 
   private @Mock UserRepository userRepository;
+  private @Mock FriendshipRepository friendshipRepository;
   private @Mock PasswordEncoder passwordEncoder;
+  private @Mock ApplicationEventPublisher eventPublisher;
+  private @Mock PlatformTransactionManager transactionManager;
   private UserService userService;
 
   @BeforeEach
   public void setUp() {
-    userService = new UserServiceImpl(userRepository, passwordEncoder);
+    RecentWriters recentWriters = new RecentWriters(5_000, 100);
+    userService = new UserServiceImpl(userRepository, friendshipRepository, passwordEncoder,
+        new PrincipalCache(10_000, 100), new UserDetailsCache(30_000, 100),
+        recentWriters, eventPublisher, new SingleFlight(recentWriters, transactionManager, 2_000));
   }
 
   @Test
@@ -242,6 +255,9 @@ public class UserServiceTest {
 
     userService.delete(1L, "password");
 
+    Mockito
+        .verify(friendshipRepository)
+        .deleteAllByUser(1L);
     Mockito
         .verify(userRepository)
         .delete(entity);
@@ -301,20 +317,19 @@ public class UserServiceTest {
 
   @Test
   public void addFriend_whenFriendAlreadyPresent_expectException() {
-    User user = ModelFactory
-        .createModelMutating(UserType.JOHN_SMITH,
-            UserMutators.publicity(Publicity.PRIVATE));
-    User target = ModelFactory
-        .createModelMutating(UserType.FRED_BLOGGS,
-            UserMutators.publicity(Publicity.PUBLIC),
-            UserMutators.friends(user));
-    UserMutators.friends(target).accept(user);
     Mockito
         .when(userRepository.findById(1L))
-        .thenReturn(Optional.of(user));
+        .thenReturn(Optional.of(ModelFactory
+            .createModelMutating(UserType.JOHN_SMITH,
+                UserMutators.publicity(Publicity.PRIVATE))));
     Mockito
         .when(userRepository.findById(2L))
-        .thenReturn(Optional.of(target));
+        .thenReturn(Optional.of(ModelFactory
+            .createModelMutating(UserType.FRED_BLOGGS,
+                UserMutators.publicity(Publicity.PUBLIC))));
+    Mockito
+        .when(friendshipRepository.create(1L, 2L))
+        .thenReturn(false);
 
     Assertions
         .assertThatThrownBy(() -> userService.addFriend(1L, 2L))
@@ -326,55 +341,28 @@ public class UserServiceTest {
 
   @Test
   public void addFriend() {
-    User user = ModelFactory
-        .createModelMutating(UserType.JOHN_SMITH,
-            UserMutators.publicity(Publicity.PRIVATE));
-    User target = ModelFactory
-        .createModelMutating(UserType.FRED_BLOGGS,
-            UserMutators.publicity(Publicity.PUBLIC));
     Mockito
         .when(userRepository.findById(1L))
-        .thenReturn(Optional.of(user));
+        .thenReturn(Optional.of(ModelFactory
+            .createModelMutating(UserType.JOHN_SMITH,
+                UserMutators.publicity(Publicity.PRIVATE))));
     Mockito
         .when(userRepository.findById(2L))
-        .thenReturn(Optional.of(target));
+        .thenReturn(Optional.of(ModelFactory
+            .createModelMutating(UserType.FRED_BLOGGS,
+                UserMutators.publicity(Publicity.PUBLIC))));
     Mockito
-        .when(userRepository.save(Mockito.any()))
-        .then(i -> i.getArgument(0));
+        .when(friendshipRepository.create(1L, 2L))
+        .thenReturn(true);
 
     userService.addFriend(1L, 2L);
 
-    ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
     Mockito
-        .verify(userRepository, Mockito.times(2))
-        .save(captor.capture());
-    List<User> captures = captor.getAllValues();
-    Assertions
-        .assertThat(captures.get(0))
-        .describedAs("Should add target to entity friends")
-        .usingRecursiveComparison()
-        .ignoringAllOverriddenEquals()
-        .ignoringFields("friends.friends", "friendFor")
-        .isEqualTo(ModelFactory
-            .createModelMutating(UserType.JOHN_SMITH,
-                UserMutators.publicity(Publicity.PRIVATE),
-                UserMutators.friends(ModelFactory
-                    .createModelMutating(UserType.FRED_BLOGGS,
-                        UserMutators.publicity(Publicity.PUBLIC)))
-            ));
-    Assertions
-        .assertThat(captures.get(1))
-        .describedAs("Should add entity to target friends")
-        .usingRecursiveComparison()
-        .ignoringAllOverriddenEquals()
-        .ignoringFields("friends.friends", "friendFor")
-        .isEqualTo(ModelFactory
-            .createModelMutating(UserType.FRED_BLOGGS,
-                UserMutators.publicity(Publicity.PUBLIC),
-                UserMutators.friends(ModelFactory
-                    .createModelMutating(UserType.JOHN_SMITH,
-                        UserMutators.publicity(Publicity.PRIVATE)))
-            ));
+        .verify(friendshipRepository)
+        .create(1L, 2L);
+    Mockito
+        .verify(userRepository, Mockito.never())
+        .save(Mockito.any());
   }
 
   @Test
@@ -419,6 +407,9 @@ public class UserServiceTest {
         .when(userRepository.findById(2L))
         .thenReturn(Optional.of(ModelFactory
             .createModel(UserType.FRED_BLOGGS)));
+    Mockito
+        .when(friendshipRepository.delete(1L, 2L))
+        .thenReturn(false);
 
     Assertions
         .assertThatThrownBy(() -> userService.removeFriend(1L, 2L))
@@ -430,53 +421,49 @@ public class UserServiceTest {
 
   @Test
   public void removeFriend() {
-    User user = ModelFactory
-        .createModel(UserType.JOHN_SMITH);
-    User target = ModelFactory
-        .createModelMutating(UserType.FRED_BLOGGS,
-            UserMutators.friends(user));
-    UserMutators.friends(target).accept(user);
     Mockito
         .when(userRepository.findById(1L))
-        .thenReturn(Optional.of(user));
+        .thenReturn(Optional.of(ModelFactory
+            .createModel(UserType.JOHN_SMITH)));
     Mockito
         .when(userRepository.findById(2L))
-        .thenReturn(Optional.of(target));
+        .thenReturn(Optional.of(ModelFactory
+            .createModel(UserType.FRED_BLOGGS)));
     Mockito
-        .when(userRepository.save(Mockito.any()))
-        .then(i -> i.getArgument(0));
+        .when(friendshipRepository.delete(1L, 2L))
+        .thenReturn(true);
 
     userService.removeFriend(1L, 2L);
 
-    ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
     Mockito
-        .verify(userRepository, Mockito.times(2))
-        .save(captor.capture());
-    List<User> captures = captor.getAllValues();
-    Assertions
-        .assertThat(captures.get(0))
-        .describedAs("Should remove target from entity friends")
-        .usingRecursiveComparison()
-        .ignoringAllOverriddenEquals()
-        .isEqualTo(ModelFactory
-            .createModel(UserType.JOHN_SMITH));
+        .verify(friendshipRepository)
+        .delete(1L, 2L);
+    Mockito
+        .verify(userRepository, Mockito.never())
+        .save(Mockito.any());
+  }
+
+  @Test
+  public void getFriends_whenNoEntityWithId_expectException() {
     Assertions
-        .assertThat(captures.get(1))
-        .describedAs("Should remove entity from target friends")
-        .usingRecursiveComparison()
-        .ignoringAllOverriddenEquals()
-        .isEqualTo(ModelFactory
-            .createModel(UserType.FRED_BLOGGS));
+        .assertThatThrownBy(() -> userService.getFriends(1L, Pageable.unpaged()))
+        .isExactlyInstanceOf(NotFoundException.class)
+        .hasFieldOrPropertyWithValue("getCodes", new Object[]{"notFound.user.byId"})
+        .hasFieldOrPropertyWithValue("getArguments", new Object[]{1L});
   }
 
   @Test
   public void getFriends() {
+    User entity = ModelFactory
+        .createModel(UserType.JOHN_SMITH);
     Mockito
         .when(userRepository.findById(1L))
-        .thenReturn(Optional.of(ModelFactory
-            .createModelMutating(UserType.JOHN_SMITH,
-                UserMutators.friends(ModelFactory
-                    .createModel(UserType.FRED_BLOGGS)))
+        .thenReturn(Optional.of(entity));
+    Mockito
+        .when(userRepository.findFriends(entity, Pageable.unpaged()))
+        .thenReturn(new PageImpl<>(
+            Lists.newArrayList(ModelFactory
+                .createModel(UserType.FRED_BLOGGS))
         ));
 
     Assertions
@@ -509,6 +496,107 @@ public class UserServiceTest {
             .createModel(UserType.JOHN_SMITH));
   }
 
+  @Test
+  public void findPrincipal_whenFoundBefore_expectNoLookup() {
+    Mockito
+        .when(userRepository.findById(1L))
+        .thenReturn(Optional.of(ModelFactory
+            .createModel(UserType.JOHN_SMITH)));
+
+    User principal = userService.findPrincipal(1L);
+    User cached = userService.findPrincipal(1L);
+
+    Assertions
+        .assertThat(cached)
+        .isNotSameAs(principal)
+        .isEqualTo(principal);
+    Assertions
+        .assertThat(cached.getFirstName())
+        .isEqualTo(principal.getFirstName());
+    Assertions
+        .assertThat(cached.getPassword())
+        .isNull();
+    Mockito
+        .verify(userRepository)
+        .findById(1L);
+  }
+
+  @Test
+  public void findPrincipal_whenInWriteTransaction_expectLookup() {
+    Mockito
+        .when(userRepository.findById(1L))
+        .thenReturn(Optional.of(ModelFactory
+            .createModel(UserType.JOHN_SMITH)));
+
+    userService.findPrincipal(1L);
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      userService.findPrincipal(1L);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    Mockito
+        .verify(userRepository, Mockito.times(2))
+        .findById(1L);
+  }
+
+  @Test
+  public void findPrincipal_whenUpdatedAfterFound_expectLookup() {
+    Mockito
+        .when(userRepository.findById(1L))
+        .thenReturn(Optional.of(ModelFactory
+            .createModel(UserType.JOHN_SMITH)));
+    Mockito
+        .when(userRepository.save(Mockito.any()))
+        .then(i -> i.getArgument(0));
+
+    userService.findPrincipal(1L);
+    userService.update(1L, null, null, "Johnny", null, null);
+    userService.findPrincipal(1L);
+
+    Mockito
+        .verify(userRepository, Mockito.times(3))
+        .findById(1L);
+  }
+
+  @Test
+  public void findAllByIds_whenAnyEntityAbsent_expectException() {
+    Mockito
+        .when(userRepository.findAllByIds(ImmutableSet.of(1L, 2L, 3L)))
+        .thenReturn(Lists.newArrayList(ModelFactory
+            .createModel(UserType.JOHN_SMITH)));
+
+    Assertions
+        .assertThatThrownBy(() -> userService.findAllByIds(Lists.newArrayList(1L, 2L, 3L)))
+        .isExactlyInstanceOf(NotFoundException.class)
+        .hasFieldOrPropertyWithValue("getCodes", new Object[]{"notFound.user.byIds"})
+        .hasFieldOrPropertyWithValue("getArguments",
+            new Object[]{Lists.newArrayList(2L, 3L)});
+  }
+
+  @Test
+  public void findAllByIds() {
+    Mockito
+        .when(userRepository.findAllByIds(ImmutableSet.of(2L, 1L)))
+        .thenReturn(Lists.newArrayList(
+            ModelFactory
+                .createModel(UserType.JOHN_SMITH),
+            ModelFactory
+                .createModel(UserType.FRED_BLOGGS)
+        ));
+
+    Assertions
+        .assertThat(userService.findAllByIds(Lists.newArrayList(2L, 1L, 2L)))
+        .usingElementComparator(ComparatorFactory.getComparator(User.class))
+        .containsExactly(
+            ModelFactory
+                .createModel(UserType.FRED_BLOGGS),
+            ModelFactory
+                .createModel(UserType.JOHN_SMITH)
+        );
+  }
+
   @Test
   public void findAll() {
     Mockito
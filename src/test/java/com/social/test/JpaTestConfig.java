@@ -0,0 +1,74 @@
+package com.social.test;
+
+import java.util.Properties;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.social.common.GuavaRegionFactory;
+import com.social.repository.spring.KeysetJpaRepository;
+
+/**
+ * Spring Data repositories over an in-memory H2 schema generated from
+ * entities, with every statement counted by {@link QueryCounter}. The
+ * second-level cache is on when the context has a {@link GuavaRegionFactory}.
+ */
+@Configuration
+@EnableJpaRepositories(value = "com.social.repository.spring",
+    repositoryBaseClass = KeysetJpaRepository.class)
+public class JpaTestConfig {
+
+  @Bean
+  public DataSource dataSource() {
+    return new EmbeddedDatabaseBuilder()
+        .generateUniqueName(true)
+        .setType(EmbeddedDatabaseType.H2)
+        .build();
+  }
+
+  @Bean
+  public LocalContainerEntityManagerFactoryBean entityManagerFactory(
+      DataSource dataSource,
+      ObjectProvider<GuavaRegionFactory> regionFactory) {
+    HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+    vendorAdapter.setGenerateDdl(true);
+
+    Properties properties = new Properties();
+    properties.setProperty("hibernate.session_factory.statement_inspector",
+        QueryCounter.class.getName());
+
+    LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+    factory.setDataSource(dataSource);
+    factory.setJpaVendorAdapter(vendorAdapter);
+    factory.setPackagesToScan("com.social.model");
+    factory.setJpaProperties(properties);
+    regionFactory.ifAvailable(cache -> {
+      factory.getJpaPropertyMap().put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      factory.getJpaPropertyMap().put(AvailableSettings.CACHE_REGION_FACTORY, cache);
+    });
+    return factory;
+  }
+
+  @Bean
+  public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+    return new JpaTransactionManager(entityManagerFactory);
+  }
+
+  @Bean
+  public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+    return new TransactionTemplate(transactionManager);
+  }
+
+}
@@ -0,0 +1,31 @@
+package com.social.test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements prepared by Hibernate, registered through
+ * {@code hibernate.session_factory.statement_inspector}. Lets tests pin
+ * the number of statements an operation issues, so N+1 regressions fail.
+ */
+public class QueryCounter implements StatementInspector {
+
+  private static final AtomicInteger statements = new AtomicInteger();
+
+  /**
+   * Returns the number of statements prepared while running {@code action}.
+   */
+  public static int count(Runnable action) {
+    int before = statements.get();
+    action.run();
+    return statements.get() - before;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    statements.incrementAndGet();
+    return sql;
+  }
+
+}
@@ -23,6 +23,7 @@ class ChatGroupComparator extends ChatComparator<GroupChat> {
     return new CompareToBuilder()
         .appendSuper(super.compare(left, right))
         .append(left.getName(), right.getName())
+        .append(left.getMemberCount(), right.getMemberCount())
         .append(left.getOwner(), right.getOwner(), userComparator)
         .toComparison();
   }
@@ -3,6 +3,8 @@ package com.social.test.comparator;
 import java.util.Comparator;
 import java.util.Set;
 
+import org.apache.commons.lang3.builder.CompareToBuilder;
+
 import com.social.model.chat.PrivateChat;
 import com.social.model.user.User;
 
@@ -12,4 +14,13 @@ class ChatPrivateComparator extends ChatComparator<PrivateChat> {
     super(membersComparator);
   }
 
+  @Override
+  public int compare(PrivateChat left, PrivateChat right) {
+    return new CompareToBuilder()
+        .appendSuper(super.compare(left, right))
+        .append(left.getLowMemberId(), right.getLowMemberId())
+        .append(left.getHighMemberId(), right.getHighMemberId())
+        .toComparison();
+  }
+
 }
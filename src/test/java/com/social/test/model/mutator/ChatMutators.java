@@ -7,6 +7,7 @@ import java.util.function.Consumer;
 
 import com.social.model.chat.Chat;
 import com.social.model.chat.GroupChat;
+import com.social.model.chat.PrivateChat;
 import com.social.model.user.User;
 
 public final class ChatMutators {
@@ -24,10 +25,22 @@ public final class ChatMutators {
     return m -> m.setMembers(members);
   }
 
+  public static Consumer<PrivateChat> lowMemberId(Long v) {
+    return m -> m.setLowMemberId(v);
+  }
+
+  public static Consumer<PrivateChat> highMemberId(Long v) {
+    return m -> m.setHighMemberId(v);
+  }
+
   public static Consumer<GroupChat> name(String v) {
     return m -> m.setName(v);
   }
 
+  public static Consumer<GroupChat> memberCount(int v) {
+    return m -> m.setMemberCount(v);
+  }
+
   public static Consumer<GroupChat> owner(User v) {
     return m -> m.setOwner(v);
   }
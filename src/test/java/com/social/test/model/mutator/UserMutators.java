@@ -1,8 +1,5 @@
 package com.social.test.model.mutator;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.Consumer;
 
 import com.social.model.user.User;
@@ -48,10 +45,4 @@ public final class UserMutators {
     return m -> m.setAdmin(v);
   }
 
-  public static Consumer<User> friends(User... v) {
-    Set<User> friends = new HashSet<>();
-    Collections.addAll(friends, v);
-    return m -> m.setFriends(friends);
-  }
-
 }
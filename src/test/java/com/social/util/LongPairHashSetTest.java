@@ -0,0 +1,120 @@
+package com.social.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LongPairHashSetTest {
+
+  @Test
+  public void add_whenPairPresent_expectFalse() {
+    LongPairHashSet set = new LongPairHashSet();
+    set.add(1L, 2L);
+
+    Assertions
+        .assertThat(set.add(1L, 2L))
+        .isFalse();
+    Assertions
+        .assertThat(set.size())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void contains_whenPairReversed_expectFalse() {
+    LongPairHashSet set = new LongPairHashSet();
+    set.add(1L, 2L);
+
+    Assertions
+        .assertThat(set.contains(2L, 1L))
+        .isFalse();
+  }
+
+  @Test
+  public void add_whenGrowing_expectAllPairsKept() {
+    LongPairHashSet set = new LongPairHashSet();
+    for (long i = 0; i < 1000; i++) {
+      set.add(i, i + 1);
+    }
+
+    Assertions
+        .assertThat(set.capacity())
+        .isGreaterThanOrEqualTo(2000);
+    for (long i = 0; i < 1000; i++) {
+      Assertions
+          .assertThat(set.contains(i, i + 1))
+          .isTrue();
+    }
+  }
+
+  @Test
+  public void remove_expectOtherPairsReachable() {
+    LongPairHashSet set = new LongPairHashSet();
+    for (long i = 0; i < 1000; i++) {
+      set.add(i, i + 1);
+    }
+
+    for (long i = 0; i < 1000; i += 2) {
+      Assertions
+          .assertThat(set.remove(i, i + 1))
+          .isTrue();
+    }
+
+    Assertions
+        .assertThat(set.size())
+        .isEqualTo(500);
+    for (long i = 0; i < 1000; i++) {
+      Assertions
+          .assertThat(set.contains(i, i + 1))
+          .isEqualTo(i % 2 == 1);
+    }
+  }
+
+  @Test
+  public void remove_whenPairAbsent_expectFalse() {
+    LongPairHashSet set = new LongPairHashSet();
+    set.add(1L, 2L);
+
+    Assertions
+        .assertThat(set.remove(1L, 3L))
+        .isFalse();
+  }
+
+  @Test
+  public void removeAll() {
+    LongPairHashSet set = new LongPairHashSet();
+    set.add(1L, 2L);
+    set.add(2L, 3L);
+    set.add(3L, 4L);
+
+    Assertions
+        .assertThat(set.removeAll(2L))
+        .isEqualTo(2);
+    Assertions
+        .assertThat(set.contains(3L, 4L))
+        .isTrue();
+    Assertions
+        .assertThat(set.contains(1L, 2L))
+        .isFalse();
+  }
+
+  @Test
+  public void removeAll_whenManyPairs_expectOtherPairsReachable() {
+    LongPairHashSet set = new LongPairHashSet();
+    for (long i = 0; i < 1000; i++) {
+      set.add(i % 7, i);
+    }
+    int capacity = set.capacity();
+
+    Assertions
+        .assertThat(set.removeAll(3L))
+        .isEqualTo(143);
+    Assertions
+        .assertThat(set.capacity())
+        .isEqualTo(capacity);
+    for (long i = 0; i < 1000; i++) {
+      Assertions
+          .assertThat(set.contains(i % 7, i))
+          .isEqualTo(i % 7 != 3);
+    }
+  }
+
+}